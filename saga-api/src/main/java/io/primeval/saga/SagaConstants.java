@@ -3,4 +3,7 @@ package io.primeval.saga;
 public final class SagaConstants {
 
     public static final String SAGA_CONTROLLER = "saga.controller";
+
+    // Name of the DispatchMode applied to the controller's routes that do not pick their own.
+    public static final String SAGA_CONTROLLER_DISPATCH = "saga.controller.dispatch";
 }
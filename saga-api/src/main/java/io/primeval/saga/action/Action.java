@@ -2,13 +2,31 @@ package io.primeval.saga.action;
 
 public final class Action {
 
+    public static final long NOT_CACHED = 0;
+    public static final long CACHED_UNTIL_INVALIDATED = -1;
+
     public final ActionKey actionKey;
 
     public final ActionFunction function;
 
+    public final DispatchMode dispatchMode;
+
+    // How long serialized results are replayed, see ResultCache.
+    public final long cacheTtlMillis;
+
     public Action(ActionKey actionKey, ActionFunction function) {
+        this(actionKey, function, DispatchMode.DISPATCHER);
+    }
+
+    public Action(ActionKey actionKey, ActionFunction function, DispatchMode dispatchMode) {
+        this(actionKey, function, dispatchMode, NOT_CACHED);
+    }
+
+    public Action(ActionKey actionKey, ActionFunction function, DispatchMode dispatchMode, long cacheTtlMillis) {
         this.actionKey = actionKey;
         this.function = function;
+        this.dispatchMode = dispatchMode;
+        this.cacheTtlMillis = cacheTtlMillis;
     }
 
 }
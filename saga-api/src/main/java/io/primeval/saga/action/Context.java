@@ -1,9 +1,11 @@
 package io.primeval.saga.action;
 
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import org.osgi.util.promise.Promise;
+import org.osgi.util.promise.Promises;
 
 import io.primeval.common.type.TypeTag;
 import io.primeval.saga.http.protocol.HttpRequest;
@@ -24,6 +26,20 @@ public interface Context {
         return queryParameter(parameterName, typeTag, typeTag.getClassLoader());
     }
 
+    // Contexts without a route match have no path parameters.
+    default Optional<String> pathParameter(String parameterName) {
+        return Optional.empty();
+    }
+
+    default <T> Promise<T> pathParameter(String parameterName, TypeTag<? extends T> typeTag,
+            ClassLoader classLoader) {
+        return Promises.failed(new NoSuchElementException("no such path parameter named " + parameterName));
+    }
+
+    default <T> Promise<T> pathParameter(String parameterName, TypeTag<? extends T> typeTag) {
+        return pathParameter(parameterName, typeTag, typeTag.getClassLoader());
+    }
+
     <T> Promise<T> body(TypeTag<? extends T> typeTag, ClassLoader classLoader);
 
     default <T> Promise<T> body(TypeTag<? extends T> typeTag) {
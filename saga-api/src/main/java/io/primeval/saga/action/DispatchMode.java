@@ -0,0 +1,31 @@
+package io.primeval.saga.action;
+
+/**
+ * Where the server runs an {@link Action}.
+ */
+public enum DispatchMode {
+
+    /**
+     * On the server's {@code Dispatcher} pool; the default.
+     */
+    DISPATCHER,
+
+    /**
+     * Directly on the I/O event thread, sparing the thread hand-off. Only for actions that neither block nor compute
+     * for long: the event thread serves other connections meanwhile.
+     */
+    INLINE,
+
+    /**
+     * On a virtual thread of its own, for actions calling blocking APIs. Requires a Java 21+ runtime; on older ones,
+     * {@link #DISPATCHER} is used instead.
+     */
+    VIRTUAL_THREAD,
+
+    /**
+     * Not chosen: the mode of the enclosing controller applies, {@link #DISPATCHER} unless it sets one. Run as
+     * {@link #DISPATCHER} elsewhere.
+     */
+    INHERIT
+
+}
@@ -0,0 +1,18 @@
+package io.primeval.saga.action;
+
+/**
+ * Serialized results of the actions declaring a cache TTL, replayed without running the action again.
+ */
+public interface ResultCache {
+
+    void invalidate(ActionKey actionKey);
+
+    void invalidateAll();
+
+    long hitCount();
+
+    long missCount();
+
+    long size();
+
+}
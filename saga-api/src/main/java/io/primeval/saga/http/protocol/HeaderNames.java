@@ -41,6 +41,7 @@ public interface HeaderNames {
     String IF_NONE_MATCH = "If-None-Match";
     String IF_RANGE = "If-Range";
     String IF_UNMODIFIED_SINCE = "If-Unmodified-Since";
+    String LAST_EVENT_ID = "Last-Event-ID";
     String LAST_MODIFIED = "Last-Modified";
     String LOCATION = "Location";
     String MAX_FORWARDS = "Max-Forwards";
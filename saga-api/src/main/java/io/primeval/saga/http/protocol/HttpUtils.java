@@ -12,4 +12,29 @@ public final class HttpUtils {
         }
         return Optional.of(hs.get(0));
     }
+
+    /**
+     * Whether the client already holds the representation tagged {@code etag}, according to the request's
+     * {@code If-None-Match} header (weak comparison).
+     */
+    public static final boolean ifNoneMatch(HttpRequest request, String etag) {
+        List<String> hs = request.headers.get(HeaderNames.IF_NONE_MATCH);
+        if (hs == null) {
+            return false;
+        }
+        String opaqueTag = opaqueTag(etag);
+        for (String h : hs) {
+            for (String candidate : h.split(",")) {
+                String c = candidate.trim();
+                if (c.equals("*") || opaqueTag(c).equals(opaqueTag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
 }
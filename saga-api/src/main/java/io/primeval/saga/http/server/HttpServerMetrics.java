@@ -0,0 +1,31 @@
+package io.primeval.saga.http.server;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * Load of a server backend, registered as a service by the backends that measure it.
+ */
+@ProviderType
+public interface HttpServerMetrics {
+
+    /**
+     * Requests admitted and not yet answered, including those queued for the server.
+     */
+    int inFlightRequests();
+
+    /**
+     * Requests admitted at once before new ones are rejected; {@link Integer#MAX_VALUE} if unlimited.
+     */
+    int inFlightLimit();
+
+    /**
+     * Requests rejected since the backend was activated.
+     */
+    long rejectedRequests();
+
+    /**
+     * Bytes of request content received and not yet read by the server, over all requests in flight.
+     */
+    long bufferedRequestBytes();
+
+}
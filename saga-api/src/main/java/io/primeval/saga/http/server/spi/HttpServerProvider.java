@@ -1,5 +1,8 @@
 package io.primeval.saga.http.server.spi;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.osgi.util.promise.Promise;
 import org.reactivestreams.Publisher;
 
@@ -11,6 +14,13 @@ public interface HttpServerProvider {
 
     Publisher<HttpServerEvent> eventStream();
 
+    /**
+     * Independent partitions of the event stream, each emitting on its own thread, to be consumed concurrently.
+     */
+    default List<Publisher<HttpServerEvent>> eventStreams() {
+        return Collections.singletonList(eventStream());
+    }
+
     Promise<Integer> port();
 
 }
@@ -0,0 +1,22 @@
+package io.primeval.saga.http.shared;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Recycles the buffers of outgoing payloads. Buffers of a {@link Payload} created with a pool are given back to it by
+ * the server provider once written to the network; they must then no longer be referenced.
+ */
+public interface ByteBufferPool {
+
+    /**
+     * A cleared buffer with at least {@code minCapacity} bytes of capacity.
+     */
+    ByteBuffer acquire(int minCapacity);
+
+    /**
+     * Gives back a buffer obtained from {@link #acquire(int)}. Buffers the pool cannot reuse are left to the garbage
+     * collector.
+     */
+    void release(ByteBuffer buffer);
+
+}
@@ -0,0 +1,104 @@
+package io.primeval.saga.http.shared;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * A region of a file sent as a payload, which backends able to transfer from a channel send without reading it into
+ * user space. The channel is closed once the region is sent, cancelled, or its payload discarded; a region of a path
+ * only opens it when first read, so it holds no file descriptor until then.
+ */
+public final class FileRegion {
+
+    // Content is mapped by windows of this size as it is requested.
+    public static final int MAPPED_WINDOW_SIZE = 4 * 1024 * 1024;
+
+    public final long position;
+    public final long length;
+
+    private final /* nullable */ Path path;
+    private /* nullable */ FileChannel channel;
+    private boolean closed;
+
+    private FileRegion(Path path, FileChannel channel, long position, long length) {
+        this.path = path;
+        this.channel = channel;
+        this.position = position;
+        this.length = length;
+    }
+
+    public static FileRegion of(FileChannel channel, long position, long length) {
+        checkBounds(position, length);
+        return new FileRegion(null, channel, position, length);
+    }
+
+    public static FileRegion of(Path path, long position, long length) {
+        checkBounds(position, length);
+        return new FileRegion(path, null, position, length);
+    }
+
+    /**
+     * The channel of the region, opened on the first call for a region of a path.
+     */
+    public synchronized FileChannel channel() throws IOException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        }
+        return channel;
+    }
+
+    /**
+     * The region as read-only memory-mapped buffers, for backends that can only send buffers.
+     */
+    public Publisher<ByteBuffer> mappedContent() {
+        long end = position + length;
+        return Flux.<ByteBuffer, Long> generate(() -> position, (pos, sink) -> {
+            if (pos >= end) {
+                sink.complete();
+                return pos;
+            }
+            long size = Math.min(MAPPED_WINDOW_SIZE, end - pos);
+            try {
+                sink.next(channel().map(MapMode.READ_ONLY, pos, size));
+            } catch (IOException e) {
+                sink.error(e);
+            }
+            return pos + size;
+        }, pos -> close());
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    public synchronized void close() {
+        closed = true;
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // nothing to recover
+        }
+    }
+
+    private static void checkBounds(long position, long length) {
+        if (position < 0 || length < 0) {
+            throw new IllegalArgumentException("Negative file region: " + position + ", " + length);
+        }
+    }
+
+}
@@ -1,6 +1,9 @@
 package io.primeval.saga.http.shared;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.OptionalLong;
 
 import org.reactivestreams.Publisher;
@@ -9,26 +12,59 @@ import io.primeval.common.type.TypeTag;
 import reactor.core.publisher.Mono;
 
 public final class Payload {
-    public static final Payload EMPTY = new Payload(OptionalLong.of(0), Mono.empty());
+    public static final Payload EMPTY = new Payload(OptionalLong.of(0), Mono.empty(), null, null);
     public static final TypeTag<Payload> TYPETAG = TypeTag.of(Payload.class);
 
     public final OptionalLong contentLength;
     public final Publisher<ByteBuffer> content;
+    public final /* nullable */ ByteBufferPool bufferPool; // owns all the content buffers, if set
+    public final /* nullable */ FileRegion fileRegion; // the content, if set
 
-    private Payload(OptionalLong contentLength, Publisher<ByteBuffer> content) {
+    private Payload(OptionalLong contentLength, Publisher<ByteBuffer> content, ByteBufferPool bufferPool,
+            FileRegion fileRegion) {
         this.contentLength = contentLength;
         this.content = content;
+        this.bufferPool = bufferPool;
+        this.fileRegion = fileRegion;
     }
 
     public static Payload stream(Publisher<ByteBuffer> content) {
-        return new Payload(OptionalLong.empty(), content);
+        return new Payload(OptionalLong.empty(), content, null, null);
     }
 
     public static Payload ofLength(long length, Publisher<ByteBuffer> content) {
-        return new Payload(OptionalLong.of(length), content);
+        return new Payload(OptionalLong.of(length), content, null, null);
+    }
+
+    /**
+     * A payload whose content buffers were all acquired from {@code bufferPool}, and are released to it once sent.
+     */
+    public static Payload ofLength(long length, Publisher<ByteBuffer> content, ByteBufferPool bufferPool) {
+        return new Payload(OptionalLong.of(length), content, bufferPool, null);
+    }
+
+    /**
+     * A payload sent straight from a file region when the backend supports it, else through its memory-mapped
+     * content; either way, it is never copied into heap buffers.
+     */
+    public static Payload ofFileRegion(FileRegion fileRegion) {
+        return new Payload(OptionalLong.of(fileRegion.length), fileRegion.mappedContent(), null, fileRegion);
+    }
+
+    public static Payload ofFile(Path path) throws IOException {
+        return ofFileRegion(FileRegion.of(path, 0, Files.size(path)));
     }
 
     public static Payload empty() {
         return EMPTY;
     }
+
+    /**
+     * Releases a payload that will not be sent, closing its file region, if any.
+     */
+    public void discard() {
+        if (fileRegion != null) {
+            fileRegion.close();
+        }
+    }
 }
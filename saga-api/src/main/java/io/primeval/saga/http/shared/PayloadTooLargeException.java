@@ -0,0 +1,15 @@
+package io.primeval.saga.http.shared;
+
+/**
+ * Signals a payload longer than the configured limit; reading it was abandoned.
+ */
+public final class PayloadTooLargeException extends RuntimeException {
+
+    public final long maxSize;
+
+    public PayloadTooLargeException(long maxSize) {
+        super("Payload exceeds " + maxSize + " bytes");
+        this.maxSize = maxSize;
+    }
+
+}
@@ -13,6 +13,10 @@ public interface MimeTypes {
      * Content-Type of json.
      */
     public static final String JSON = "application/json";
+    /**
+     * Content-Type of newline-delimited json.
+     */
+    public static final String NDJSON = "application/x-ndjson";
     /**
      * Content-Type of xml.
      */
@@ -37,6 +41,18 @@ public interface MimeTypes {
      * Content-Type of binary data.
      */
     public static final String BINARY = "application/octet-stream";
+    /**
+     * Content-Type of cbor.
+     */
+    public static final String CBOR = "application/cbor";
+    /**
+     * Content-Type of smile (binary json).
+     */
+    public static final String SMILE = "application/x-jackson-smile";
+    /**
+     * Content-Type of messagepack.
+     */
+    public static final String MSGPACK = "application/x-msgpack";
 
     /**
      * Multipart.
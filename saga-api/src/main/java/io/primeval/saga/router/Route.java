@@ -1,7 +1,8 @@
 package io.primeval.saga.router;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -11,10 +12,30 @@ public final class Route {
 
     public final HttpMethod method;
     public final List<String> pathPattern;
+    public final List<RouteSegment> segments;
+
+    // indices of the segments capturing a path parameter
+    final int[] pathParameterIndices;
 
     public Route(HttpMethod method, List<String> pathPattern) {
         this.method = method;
         this.pathPattern = pathPattern;
+        List<RouteSegment> segments = new ArrayList<>(pathPattern.size());
+        int parameterCount = 0;
+        for (String pathPatSeg : pathPattern) {
+            RouteSegment segment = RouteSegment.of(pathPatSeg);
+            segments.add(segment);
+            if (segment.parameterName != null) {
+                parameterCount++;
+            }
+        }
+        this.segments = Collections.unmodifiableList(segments);
+        this.pathParameterIndices = new int[parameterCount];
+        for (int i = 0, j = 0; i < segments.size(); i++) {
+            if (segments.get(i).parameterName != null) {
+                pathParameterIndices[j++] = i;
+            }
+        }
     }
 
     public static Route create(HttpMethod method, List<String> pathPattern) {
@@ -26,15 +47,11 @@ public final class Route {
             return false;
         }
         int size = path.size();
-        if (size != pathPattern.size()) {
+        if (size != segments.size()) {
             return false;
         }
-        ListIterator<String> pathIt = path.listIterator();
-        ListIterator<String> pathPatIt = pathPattern.listIterator();
-        while (pathIt.hasNext()) {
-            String pathSeg = pathIt.next();
-            String pathPatSeg = pathPatIt.next();
-            if (!pathSeg.matches(pathPatSeg)) {
+        for (int i = 0; i < size; i++) {
+            if (!segments.get(i).matches(path.get(i))) {
                 return false;
             }
         }
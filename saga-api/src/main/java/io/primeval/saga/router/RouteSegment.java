@@ -0,0 +1,85 @@
+package io.primeval.saga.router;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * A path pattern segment, classified once so that matching a literal or wildcard segment allocates nothing. A
+ * {@code {name}} segment is a wildcard capturing the path parameter {@code name}.
+ */
+public final class RouteSegment {
+
+    public enum Kind {
+        LITERAL, WILDCARD, REGEX
+    }
+
+    public static final String WILDCARD = ".*";
+
+    private static final String REGEX_METACHARS = "\\^$.|?*+()[]{}";
+
+    public final String pattern;
+    public final Kind kind;
+    public final /* nullable */ String parameterName;
+    private final Pattern compiled; // only for REGEX
+
+    private RouteSegment(String pattern, Kind kind, String parameterName, Pattern compiled) {
+        this.pattern = pattern;
+        this.kind = kind;
+        this.parameterName = parameterName;
+        this.compiled = compiled;
+    }
+
+    public static RouteSegment of(String pattern) {
+        if (WILDCARD.equals(pattern)) {
+            return new RouteSegment(pattern, Kind.WILDCARD, null, null);
+        } else if (pattern.length() > 2 && pattern.startsWith("{") && pattern.endsWith("}")) {
+            return new RouteSegment(pattern, Kind.WILDCARD, pattern.substring(1, pattern.length() - 1), null);
+        } else if (isLiteral(pattern)) {
+            return new RouteSegment(pattern, Kind.LITERAL, null, null);
+        }
+        return new RouteSegment(pattern, Kind.REGEX, null, Pattern.compile(pattern));
+    }
+
+    public boolean matches(String pathSeg) {
+        switch (kind) {
+        case LITERAL:
+            return pattern.equals(pathSeg);
+        case WILDCARD:
+            return true;
+        default:
+            return compiled.matcher(pathSeg).matches();
+        }
+    }
+
+    private static boolean isLiteral(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if (REGEX_METACHARS.indexOf(pattern.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pattern);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        RouteSegment other = (RouteSegment) obj;
+        return Objects.equals(pattern, other.pattern);
+    }
+
+}
@@ -6,13 +6,30 @@ import java.util.Optional;
 
 import org.osgi.util.promise.Promise;
 
+import io.primeval.codex.promise.PromiseHelper;
 import io.primeval.saga.http.protocol.HttpMethod;
 
 public interface Router {
 
-    Promise<Optional<RouterAction>> getActionFor(HttpMethod method, List<String> path);
+    // Synchronous lookup, meant for the request hot path; returns null if no route matches.
+    /* nullable */ RouterMatch findMatch(HttpMethod method, List<String> path);
 
-    Promise<Optional<RouterAction>> getActionFor(String method, List<String> path);
+    /* nullable */ default RouterAction findAction(HttpMethod method, List<String> path) {
+        RouterMatch routerMatch = findMatch(method, path);
+        return routerMatch != null ? routerMatch.routerAction : null;
+    }
+
+    default Promise<Optional<RouterAction>> getActionFor(HttpMethod method, List<String> path) {
+        return PromiseHelper.wrap(() -> Optional.ofNullable(findAction(method, path)));
+    }
+
+    default Promise<Optional<RouterAction>> getActionFor(String method, List<String> path) {
+        return getActionFor(HttpMethod.from(method), path);
+    }
+
+    default Promise<Optional<RouterMatch>> getMatchFor(HttpMethod method, List<String> path) {
+        return PromiseHelper.wrap(() -> Optional.ofNullable(findMatch(method, path)));
+    }
 
     Promise<Collection<Route>> getRoutes();
 
@@ -0,0 +1,59 @@
+package io.primeval.saga.router;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The outcome of routing a request path: the matched {@link RouterAction} and the path parameters captured by its
+ * {@code {name}} segments.
+ */
+public final class RouterMatch {
+
+    private static final String[] NO_PATH_PARAMETERS = new String[0];
+
+    public final RouterAction routerAction;
+
+    // name0, value0, name1, value1, ...
+    private final String[] pathParameters;
+
+    private RouterMatch(RouterAction routerAction, String[] pathParameters) {
+        this.routerAction = routerAction;
+        this.pathParameters = pathParameters;
+    }
+
+    public static RouterMatch of(RouterAction routerAction, List<String> path) {
+        Route route = routerAction.route;
+        int[] indices = route.pathParameterIndices;
+        if (indices.length == 0) {
+            return new RouterMatch(routerAction, NO_PATH_PARAMETERS);
+        }
+        String[] pathParameters = new String[indices.length * 2];
+        for (int i = 0; i < indices.length; i++) {
+            int index = indices[i];
+            pathParameters[2 * i] = route.segments.get(index).parameterName;
+            pathParameters[2 * i + 1] = path.get(index);
+        }
+        return new RouterMatch(routerAction, pathParameters);
+    }
+
+    public Optional<String> pathParameter(String parameterName) {
+        for (int i = 0; i < pathParameters.length; i += 2) {
+            if (pathParameters[i].equals(parameterName)) {
+                return Optional.of(pathParameters[i + 1]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Map<String, String> pathParameters() {
+        Map<String, String> res = new LinkedHashMap<>();
+        for (int i = 0; i < pathParameters.length; i += 2) {
+            res.put(pathParameters[i], pathParameters[i + 1]);
+        }
+        return Collections.unmodifiableMap(res);
+    }
+
+}
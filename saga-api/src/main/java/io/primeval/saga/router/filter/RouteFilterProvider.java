@@ -1,5 +1,6 @@
 package io.primeval.saga.router.filter;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.osgi.util.promise.Promise;
@@ -14,4 +15,22 @@ public interface RouteFilterProvider {
     Promise<Result<?>> call(Context context, ActionFunction function, Optional<Route> boundRoute);
 
     boolean matches(String uri);
+
+    /**
+     * Declarative alternative to {@link #matches(String)}: the path prefixes under which this filter applies, such as
+     * {@code "/admin"} or {@code "/api/v2"}, {@code "/"} standing for every path. Prefixes are compared segment by
+     * segment and indexed by the server; when present, {@link #matches(String)} is never called.
+     */
+    default Optional<List<String>> pathPrefixes() {
+        return Optional.empty();
+    }
+
+    /**
+     * Whether {@link #matches(String)} may answer differently for two URIs bound to the same route, such as by looking
+     * at path parameters or the query. By default it is evaluated on every request; filters that only depend on the
+     * route may return {@code false} to have it evaluated once per route, with the resulting filter chain cached.
+     */
+    default boolean matchesPerRequest() {
+        return true;
+    }
 }
@@ -19,6 +19,12 @@ public interface Serializer {
 
     Promise<Set<String>> serializableMediaTypes();
 
+    /**
+     * The media type {@code typeTag} can be serialized to that best matches an HTTP {@code Accept} header, or the empty
+     * string if none is acceptable.
+     */
+    Promise<String> negotiateMediaType(TypeTag<?> typeTag, String accept);
+
     default <T> Promise<Payload> serialize(Serializable<T> serializable, String mediaType,
             Map<String, String> options) {
         return serialize(serializable.value(), serializable.typeTag(), mediaType, options);
@@ -0,0 +1,79 @@
+package io.primeval.saga.sse;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import io.primeval.saga.http.protocol.HeaderNames;
+import io.primeval.saga.http.protocol.HttpRequest;
+
+/**
+ * An event of a {@code text/event-stream} response. Controllers return a {@code Publisher} of events (or of plain
+ * values, sent as data-only events); the data is serialized as JSON, or as is for Strings.
+ */
+public final class ServerSentEvent<T> {
+
+    public final /* nullable */ String id;
+    public final /* nullable */ String event;
+    public final T data;
+
+    private ServerSentEvent(String id, String event, T data) {
+        checkField(id);
+        checkField(event);
+        this.id = id;
+        this.event = event;
+        this.data = data;
+    }
+
+    public static <T> ServerSentEvent<T> of(T data) {
+        return new ServerSentEvent<>(null, null, data);
+    }
+
+    public static <T> ServerSentEvent<T> of(String id, T data) {
+        return new ServerSentEvent<>(id, null, data);
+    }
+
+    public static <T> ServerSentEvent<T> of(String id, String event, T data) {
+        return new ServerSentEvent<>(id, event, data);
+    }
+
+    /**
+     * The id of the last event received by a reconnecting client, to resume the stream after it.
+     */
+    public static Optional<String> lastEventId(HttpRequest request) {
+        List<String> values = request.headers.get(HeaderNames.LAST_EVENT_ID);
+        if (values == null || values.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(values.get(0));
+    }
+
+    private static void checkField(String value) {
+        if (value != null && (value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0)) {
+            throw new IllegalArgumentException("Event ids and names cannot span several lines: " + value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ServerSentEvent{id=" + id + ", event=" + event + ", data=" + data + "}";
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, event, data);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        ServerSentEvent<?> other = (ServerSentEvent<?>) obj;
+        return Objects.equals(id, other.id) && Objects.equals(event, other.event) && Objects.equals(data, other.data);
+    }
+
+}
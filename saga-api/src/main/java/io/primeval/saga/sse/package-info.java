@@ -0,0 +1,2 @@
+@org.osgi.annotation.versioning.Version("1.0.0")
+package io.primeval.saga.sse;
\ No newline at end of file
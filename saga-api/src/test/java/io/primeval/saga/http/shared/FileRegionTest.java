@@ -0,0 +1,129 @@
+package io.primeval.saga.http.shared;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reactivestreams.Subscription;
+
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+public class FileRegionTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldMapRegionByWindows() throws Exception {
+        long size = 2L * FileRegion.MAPPED_WINDOW_SIZE + 3;
+        Path path = folder.newFile().toPath();
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(size);
+            file.seek(FileRegion.MAPPED_WINDOW_SIZE);
+            file.write(1);
+            file.seek(size - 1);
+            file.write(2);
+        }
+        FileRegion tested = FileRegion.of(path, 0, size);
+
+        List<ByteBuffer> windows = Flux.from(tested.mappedContent()).collectList().block();
+
+        assertThat(windows).extracting(ByteBuffer::remaining).containsExactly(FileRegion.MAPPED_WINDOW_SIZE,
+                FileRegion.MAPPED_WINDOW_SIZE, 3);
+        assertThat(windows.get(1).get(0)).isEqualTo((byte) 1);
+        assertThat(windows.get(2).get(2)).isEqualTo((byte) 2);
+        assertThat(windows.get(0).isReadOnly()).isTrue();
+    }
+
+    @Test
+    public void shouldMapOddBounds() throws Exception {
+        Path path = file("0123456789abcdef");
+        FileRegion tested = FileRegion.of(path, 3, 7);
+
+        assertThat(content(tested)).isEqualTo("3456789");
+        assertThat(tested.isClosed()).isTrue();
+    }
+
+    @Test
+    public void shouldCompleteZeroLengthRegionWithoutContent() throws Exception {
+        FileChannel channel = FileChannel.open(file("0123"), StandardOpenOption.READ);
+        FileRegion tested = FileRegion.of(channel, 4, 0);
+
+        assertThat(Flux.from(tested.mappedContent()).collectList().block()).isEmpty();
+        assertThat(channel.isOpen()).isFalse();
+    }
+
+    @Test
+    public void shouldCloseChannelOnCancel() throws Exception {
+        FileChannel channel = FileChannel.open(file("0123"), StandardOpenOption.READ);
+        FileRegion tested = FileRegion.of(channel, 0, 4);
+
+        tested.mappedContent().subscribe(new BaseSubscriber<ByteBuffer>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                subscription.cancel();
+            }
+        });
+
+        assertThat(channel.isOpen()).isFalse();
+    }
+
+    @Test
+    public void shouldNotOpenPathUntilRead() throws Exception {
+        Payload payload = Payload.ofFile(file("0123"));
+
+        assertThat(payload.contentLength.getAsLong()).isEqualTo(4L);
+        payload.discard();
+
+        assertThat(payload.fileRegion.isClosed()).isTrue();
+        assertThat(Flux.from(payload.content).collectList().map(List::size).onErrorReturn(-1).block())
+                .isEqualTo(-1);
+    }
+
+    @Test
+    public void shouldCloseChannelOfDiscardedPayload() throws Exception {
+        FileChannel channel = FileChannel.open(file("0123"), StandardOpenOption.READ);
+        Payload payload = Payload.ofFileRegion(FileRegion.of(channel, 0, 4));
+
+        payload.discard();
+
+        assertThat(channel.isOpen()).isFalse();
+    }
+
+    @Test(expected = ClosedChannelException.class)
+    public void shouldNotReopenClosedRegion() throws Exception {
+        FileRegion tested = FileRegion.of(file("0123"), 0, 4);
+        tested.close();
+
+        tested.channel();
+    }
+
+    private Path file(String content) throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, content.getBytes("US-ASCII"));
+        return path;
+    }
+
+    private static String content(FileRegion region) {
+        StringBuilder sb = new StringBuilder();
+        for (ByteBuffer buffer : Flux.from(region.mappedContent()).toIterable()) {
+            while (buffer.hasRemaining()) {
+                sb.append((char) buffer.get());
+            }
+        }
+        return sb.toString();
+    }
+
+}
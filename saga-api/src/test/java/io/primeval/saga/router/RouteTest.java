@@ -0,0 +1,34 @@
+package io.primeval.saga.router;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import io.primeval.saga.http.protocol.HttpMethod;
+
+public class RouteTest {
+
+    @Test
+    public void shouldClassifySegmentsOnce() throws Exception {
+        Route route = Route.create(HttpMethod.GET, Arrays.asList("items", ".*", "v[0-9]+"));
+
+        assertThat(route.segments.get(0).kind).isEqualTo(RouteSegment.Kind.LITERAL);
+        assertThat(route.segments.get(1).kind).isEqualTo(RouteSegment.Kind.WILDCARD);
+        assertThat(route.segments.get(2).kind).isEqualTo(RouteSegment.Kind.REGEX);
+    }
+
+    @Test
+    public void shouldMatchLikeRegexSegments() throws Exception {
+        Route route = Route.create(HttpMethod.GET, Arrays.asList("items", ".*", "v[0-9]+"));
+
+        assertThat(route.matches(HttpMethod.GET, Arrays.asList("items", "42", "v2"))).isTrue();
+        assertThat(route.matches(HttpMethod.GET, Arrays.asList("items", "", "v10"))).isTrue();
+        assertThat(route.matches(HttpMethod.GET, Arrays.asList("items", "42", "vx"))).isFalse();
+        assertThat(route.matches(HttpMethod.GET, Arrays.asList("item", "42", "v2"))).isFalse();
+        assertThat(route.matches(HttpMethod.POST, Arrays.asList("items", "42", "v2"))).isFalse();
+        assertThat(route.matches(HttpMethod.GET, Arrays.asList("items", "42"))).isFalse();
+    }
+
+}
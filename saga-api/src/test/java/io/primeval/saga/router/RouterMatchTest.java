@@ -0,0 +1,30 @@
+package io.primeval.saga.router;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import io.primeval.saga.http.protocol.HttpMethod;
+
+public class RouterMatchTest {
+
+    @Test
+    public void shouldCaptureNamedPathParameters() throws Exception {
+        Route route = Route.create(HttpMethod.GET, Arrays.asList("users", "{userId}", "items", "{itemId}", ".*"));
+        RouterAction routerAction = new RouterAction(route, null);
+
+        assertThat(route.matches(HttpMethod.GET, Arrays.asList("users", "joe", "items", "42", "x"))).isTrue();
+
+        RouterMatch match = RouterMatch.of(routerAction, Arrays.asList("users", "joe", "items", "42", "x"));
+
+        assertThat(match.routerAction).isSameAs(routerAction);
+        assertThat(match.pathParameter("userId")).isEqualTo(Optional.of("joe"));
+        assertThat(match.pathParameter("itemId")).isEqualTo(Optional.of("42"));
+        assertThat(match.pathParameter("x")).isEqualTo(Optional.empty());
+        assertThat(match.pathParameters().keySet()).containsExactly("userId", "itemId");
+    }
+
+}
@@ -5,6 +5,9 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import io.primeval.saga.action.Action;
+import io.primeval.saga.action.DispatchMode;
+import io.primeval.saga.action.ResultCache;
 import io.primeval.saga.http.protocol.HttpMethod;
 
 @Target(ElementType.METHOD)
@@ -15,4 +18,18 @@ public @interface Route {
 
     String uri();
 
+    /**
+     * {@link DispatchMode#INLINE} runs the method on the I/O event thread; reserve it for cheap, non-blocking methods.
+     * When left to {@link DispatchMode#INHERIT}, the controller's {@code saga.controller.dispatch} service property
+     * applies if set, {@link DispatchMode#DISPATCHER} otherwise.
+     */
+    DispatchMode dispatch() default DispatchMode.INHERIT;
+
+    /**
+     * Time the serialized result of a {@code GET} is replayed for, per URI and {@code Accept} header, without invoking
+     * the method again. {@link Action#CACHED_UNTIL_INVALIDATED} keeps it until invalidated through the
+     * {@link ResultCache} service. Only for methods whose result depends on nothing else.
+     */
+    long cacheTtlMillis() default Action.NOT_CACHED;
+
 }
@@ -19,7 +19,6 @@ import org.osgi.framework.BundleContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
-import org.osgi.service.component.annotations.Reference;
 import org.osgi.util.promise.Promise;
 import org.osgi.util.promise.Promises;
 import org.slf4j.Logger;
@@ -30,6 +29,7 @@ import io.primeval.common.type.GenericBoxes;
 import io.primeval.common.type.TypeTag;
 import io.primeval.saga.action.Action;
 import io.primeval.saga.action.Context;
+import io.primeval.saga.action.DispatchMode;
 import io.primeval.saga.action.Result;
 import io.primeval.saga.annotations.Body;
 import io.primeval.saga.annotations.Path;
@@ -37,7 +37,6 @@ import io.primeval.saga.annotations.PathParameter;
 import io.primeval.saga.annotations.QueryParameter;
 import io.primeval.saga.http.protocol.HttpRequest;
 import io.primeval.saga.http.shared.Payload;
-import io.primeval.saga.parameter.HttpParameterConverter;
 import io.primeval.saga.router.Route;
 import io.primeval.saga.router.RouterAction;
 import io.primeval.saga.serdes.serializer.Serializable;
@@ -48,7 +47,6 @@ public final class ControllerRouteFinder {
     private static final Logger LOGGER = LoggerFactory.getLogger(ControllerRouteFinder.class);
 
     private ControllerRouteProvider controllerRouteProvider;
-    private HttpParameterConverter httpParameterConverter;
 
     @Activate
     public void activate(BundleContext bundleContext) {
@@ -61,11 +59,6 @@ public final class ControllerRouteFinder {
         controllerRouteProvider.close();
     }
 
-    @Reference
-    public void setHttpParamConverter(HttpParameterConverter httpParameterConverter) {
-        this.httpParameterConverter = httpParameterConverter;
-    }
-
     public ActionInvocationHandler createInvocationHandler(Method m, Object target, List<String> routePattern,
             Function<Object, Promise<Result<?>>> wrap, TypeTag resultTypeTag)
             throws NoSuchMethodException, IllegalAccessException {
@@ -100,21 +93,15 @@ public final class ControllerRouteFinder {
 
                 String expectedPattern = '{' + paramName + '}';
 
-                int patternIndex = findPatternIndex(routePattern, expectedPattern);
-
-                if (patternIndex == -1) {
+                if (!routePattern.contains(expectedPattern)) {
                     Function<Context, Promise<?>> fun = context -> {
                         return Promises.failed(new NoSuchElementException("no such path parameter named " + paramName));
                     };
                     inject.add(fun);
                 } else {
+                    TypeTag<?> paramTypeTag = TypeTag.of(parameter.getParameterizedType());
                     Function<Context, Promise<?>> fun = context -> {
-                        String paramValue = context.request().path.get(patternIndex);
-                        if (parameter.getType() == String.class) {
-                            return Promises.resolved(paramValue);
-                        }
-                        return httpParameterConverter.createParameter(paramValue,
-                                TypeTag.of(parameter.getParameterizedType()));
+                        return context.pathParameter(paramName, paramTypeTag);
                     };
                     inject.add(fun);
                 }
@@ -147,16 +134,6 @@ public final class ControllerRouteFinder {
 
     }
 
-    private int findPatternIndex(List<String> pathPattern, String expectedPattern) {
-        for (int i = 0; i < pathPattern.size(); i++) {
-            String pattern = pathPattern.get(i);
-            if (expectedPattern.equals(pattern)) {
-                return i;
-            }
-        }
-        return -1;
-    }
-
     @SuppressWarnings("unchecked")
     private static <T extends Throwable> RuntimeException throwException(Throwable exception) throws T {
         throw (T) exception;
@@ -202,8 +179,12 @@ public final class ControllerRouteFinder {
         });
     }
 
-    @SuppressWarnings("unchecked")
     public Collection<RouterAction> routerActions(Object controller) {
+        return routerActions(controller, DispatchMode.DISPATCHER);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Collection<RouterAction> routerActions(Object controller, DispatchMode controllerDispatchMode) {
         Path path = controller.getClass().getAnnotation(Path.class);
         String basePath = path != null ? path.value() : "";
         Method[] methods = controller.getClass().getMethods();
@@ -217,18 +198,14 @@ public final class ControllerRouteFinder {
                 continue;
             }
 
+            // {param} segments are kept as is: Route treats them as named wildcards.
             List<String> routePattern = RouteUtils.path(basePath + routeAnn.uri());
-            List<String> routeURI = new ArrayList<>(routePattern.size());
-            for (String routeURIPart : routePattern) {
-                if (routeURIPart.startsWith("{") && routeURIPart.endsWith("}")) {
-                    routeURI.add(".*");
-                } else {
-                    routeURI.add(routeURIPart);
-                }
-            }
 
             Route route = new io.primeval.saga.router.Route(routeAnn.method(),
-                    routeURI);
+                    routePattern);
+
+            DispatchMode dispatchMode = routeAnn.dispatch() == DispatchMode.INHERIT ? controllerDispatchMode
+                    : routeAnn.dispatch();
 
             Function<Object, Promise<Result<?>>> wrap;
             TypeTag resultTypeTag;
@@ -269,7 +246,8 @@ public final class ControllerRouteFinder {
                         wrap,
                         resultTypeTag);
                 RouterAction boundAction = new RouterAction(route,
-                        new Action(new MethodActionKey(m), actionInvocationHandler::invoke));
+                        new Action(new MethodActionKey(m), actionInvocationHandler::invoke, dispatchMode,
+                                routeAnn.cacheTtlMillis()));
 
                 boundActions.add(boundAction);
             } catch (Exception e) {
@@ -5,7 +5,7 @@ import static java.text.MessageFormat.format;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
+import java.util.function.BiFunction;
 
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
@@ -15,14 +15,19 @@ import org.osgi.framework.ServiceReference;
 import org.osgi.framework.ServiceRegistration;
 import org.osgi.util.tracker.ServiceTracker;
 import org.osgi.util.tracker.ServiceTrackerCustomizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.primeval.saga.SagaConstants;
+import io.primeval.saga.action.DispatchMode;
 import io.primeval.saga.router.RouterAction;
 import io.primeval.saga.router.spi.RouterActionProvider;
 import io.primeval.saga.router.spi.RouterActionProviderKey;
 
 public final class ControllerRouteProvider {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ControllerRouteProvider.class);
+
     private static final class ControllerRouterActionProvider implements RouterActionProvider {
 
         private final RouterActionProviderKey key;
@@ -48,7 +53,8 @@ public final class ControllerRouteProvider {
 
     private final Map<RouterActionProviderKey, ServiceRegistration<RouterActionProvider>> registeredProviders = new ConcurrentHashMap<>();
 
-    public ControllerRouteProvider(BundleContext bundleContext, Function<Object, Collection<RouterAction>> routerActionsFun) {
+    public ControllerRouteProvider(BundleContext bundleContext,
+            BiFunction<Object, DispatchMode, Collection<RouterAction>> routerActionsFun) {
         try {
             serviceTracker = new ServiceTracker<Object, Object>(bundleContext,
                     FrameworkUtil.createFilter(format("({0}=*)", SagaConstants.SAGA_CONTROLLER)),
@@ -59,7 +65,8 @@ public final class ControllerRouteProvider {
 
                             Object service = bundleContext.getService(reference);
 
-                            Collection<RouterAction> routerActions = routerActionsFun.apply(service);
+                            Collection<RouterAction> routerActions = routerActionsFun.apply(service,
+                                    dispatchMode(reference));
 
                             if (routerActions.isEmpty()) {
                                 return null;
@@ -109,6 +116,21 @@ public final class ControllerRouteProvider {
         serviceTracker.close();
     }
 
+    private static DispatchMode dispatchMode(ServiceReference<Object> reference) {
+        Object dispatchMode = reference.getProperty(SagaConstants.SAGA_CONTROLLER_DISPATCH);
+        if (dispatchMode == null) {
+            return DispatchMode.DISPATCHER;
+        }
+        try {
+            DispatchMode mode = DispatchMode.valueOf(dispatchMode.toString());
+            return mode == DispatchMode.INHERIT ? DispatchMode.DISPATCHER : mode;
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Unknown {} {} on controller service {}, using {}", SagaConstants.SAGA_CONTROLLER_DISPATCH,
+                    dispatchMode, reference, DispatchMode.DISPATCHER);
+            return DispatchMode.DISPATCHER;
+        }
+    }
+
     private BundleControllerKey makeKey(ServiceReference<Object> reference, Object service) {
         Class<? extends Object> controllerClass = service.getClass();
         BundleControllerKey key = new BundleControllerKey(controllerClass,
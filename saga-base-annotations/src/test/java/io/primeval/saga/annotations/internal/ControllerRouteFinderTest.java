@@ -1,5 +1,7 @@
 package io.primeval.saga.annotations.internal;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -12,6 +14,7 @@ import com.google.common.collect.ImmutableList;
 
 import io.primeval.common.type.TypeTag;
 import io.primeval.saga.action.Context;
+import io.primeval.saga.action.DispatchMode;
 import io.primeval.saga.action.Result;
 import io.primeval.saga.http.protocol.HttpRequest;
 import io.primeval.saga.http.shared.Payload;
@@ -45,6 +48,17 @@ public class ControllerRouteFinderTest {
                     return ImmutableList.of(Optional.of("foo"));
                 }
 
+                @Override
+                public Optional<String> pathParameter(String parameterName) {
+                    return Optional.of("foo");
+                }
+
+                @Override
+                public <T> Promise<T> pathParameter(String parameterName, TypeTag<? extends T> typeTag,
+                        ClassLoader classLoader) {
+                    return (Promise<T>) Promises.resolved("foo");
+                }
+
                 @Override
                 public <T> Promise<T> body(TypeTag<? extends T> typeTag, ClassLoader classLoader) {
                     return (Promise<T>) Promises.resolved("Hello World");
@@ -68,4 +82,29 @@ public class ControllerRouteFinderTest {
 
     }
 
+    @Test
+    public void shouldApplyControllerDispatchModeToRoutesNotChoosingOne() throws Exception {
+        Collection<RouterAction> routerActions = tested.routerActions(new HelloWorldController(),
+                DispatchMode.VIRTUAL_THREAD);
+
+        for (RouterAction ba : routerActions) {
+            DispatchMode expected;
+            if (ba.route.pathPattern.equals(ImmutableList.of("hello3"))) {
+                expected = DispatchMode.INLINE;
+            } else if (ba.route.pathPattern.equals(ImmutableList.of("hello4"))) {
+                expected = DispatchMode.DISPATCHER; // chosen explicitly, not overridden
+            } else {
+                expected = DispatchMode.VIRTUAL_THREAD;
+            }
+            assertThat(ba.action.dispatchMode).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void shouldDispatchRoutesNotChoosingOneOnTheDispatcherByDefault() throws Exception {
+        for (RouterAction ba : tested.routerActions(new HelloWorldController())) {
+            assertThat(ba.action.dispatchMode).isNotEqualTo(DispatchMode.INHERIT);
+        }
+    }
+
 }
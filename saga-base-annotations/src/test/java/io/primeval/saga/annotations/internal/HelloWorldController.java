@@ -6,6 +6,7 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.util.promise.Promise;
 import org.osgi.util.promise.Promises;
 
+import io.primeval.saga.action.DispatchMode;
 import io.primeval.saga.action.Result;
 import io.primeval.saga.annotations.QueryParameter;
 import io.primeval.saga.annotations.Route;
@@ -31,12 +32,12 @@ public final class HelloWorldController {
         return Result.ok("Hello " + who);
     }
 
-    @Route(method = HttpMethod.GET, uri = "/hello3")
+    @Route(method = HttpMethod.GET, uri = "/hello3", dispatch = DispatchMode.INLINE)
     public Promise<String> hello3() { // @DefaultValue("world") @QueryParameter("who") String who) {
         return Promises.resolved("Hello 3"); // + who;
     }
 
-    @Route(method = HttpMethod.GET, uri = "/hello4")
+    @Route(method = HttpMethod.GET, uri = "/hello4", dispatch = DispatchMode.DISPATCHER)
     public Promise<Result<String>> hello4() { // @DefaultValue("world") @QueryParameter("who") String who) {
         return Promises.resolved(Result.ok("Hello 4")); // + who;
     }
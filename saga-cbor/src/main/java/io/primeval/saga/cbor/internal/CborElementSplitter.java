@@ -0,0 +1,215 @@
+package io.primeval.saga.cbor.internal;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.primeval.saga.http.shared.PayloadTooLargeException;
+
+/**
+ * Splits a CBOR array, definite or not, fed one buffer at a time, into the encoded bytes of its elements. Only item
+ * headers are read, to find where elements end; the elements themselves are left for the mapper to decode. Not
+ * thread-safe: one instance per body.
+ */
+final class CborElementSplitter {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_DEPTH = 1024;
+
+    private static final long INDEFINITE = -1;
+    private static final int BREAK = 0xff;
+
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+    private static final int MAJOR_TAG = 6;
+
+    private final long maxElementSize;
+
+    private byte[] element = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    // Items left in each open container, the top-level array first; INDEFINITE until a break.
+    private long[] remaining = new long[8];
+    private int depth;
+    private boolean closed;
+
+    // Reading the current item: its header argument, then the bytes of a string.
+    private int major;
+    private int argumentBytes;
+    private long argument;
+    private long stringBytes;
+
+    private List<byte[]> completed;
+
+    CborElementSplitter(long maxElementSize) {
+        this.maxElementSize = maxElementSize;
+    }
+
+    List<byte[]> feed(ByteBuffer buffer) {
+        completed = null;
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            onByte(buffer.get(i) & 0xff);
+        }
+        List<byte[]> elements = completed;
+        completed = null;
+        return elements == null ? Collections.emptyList() : elements;
+    }
+
+    List<byte[]> finish() {
+        if ((depth > 0 && !closed) || argumentBytes > 0) {
+            throw new IllegalArgumentException("Unterminated CBOR array");
+        }
+        return Collections.emptyList();
+    }
+
+    private void onByte(int b) {
+        if (closed) {
+            throw new IllegalArgumentException("Unexpected content after CBOR array");
+        }
+        if (depth > 0) {
+            if (depth == 1 && size == 0 && b == BREAK && argumentBytes == 0 && stringBytes == 0) {
+                if (remaining[0] != INDEFINITE) {
+                    throw new IllegalArgumentException("Unexpected break in CBOR array");
+                }
+                closed = true;
+                return;
+            }
+            append((byte) b);
+        }
+        if (argumentBytes > 0) {
+            argument = argument << 8 | b;
+            if (--argumentBytes == 0) {
+                onHeader();
+            }
+        } else if (stringBytes > 0) {
+            if (--stringBytes == 0) {
+                onItem();
+            }
+        } else if (b == BREAK) {
+            if (depth <= 1 || remaining[depth - 1] != INDEFINITE) {
+                throw new IllegalArgumentException("Unexpected break in CBOR array");
+            }
+            depth--;
+            onItem();
+        } else {
+            onInitialByte(b);
+        }
+    }
+
+    private void onInitialByte(int b) {
+        major = b >>> 5;
+        int info = b & 0x1f;
+        if (depth == 0 && major != MAJOR_ARRAY) {
+            throw new IllegalArgumentException("Expected a CBOR array");
+        }
+        if (info < 24) {
+            argument = info;
+            onHeader();
+        } else if (info <= 27) {
+            argument = 0;
+            argumentBytes = 1 << (info - 24);
+        } else if (info == 31 && major >= MAJOR_BYTES && major <= MAJOR_MAP) {
+            push(INDEFINITE); // strings then hold definite chunks
+        } else {
+            throw new IllegalArgumentException("Malformed CBOR item");
+        }
+    }
+
+    private void onHeader() {
+        switch (major) {
+        case MAJOR_BYTES:
+        case MAJOR_TEXT:
+            checkLength(argument);
+            if (argument == 0) {
+                onItem();
+            } else {
+                stringBytes = argument;
+            }
+            break;
+        case MAJOR_ARRAY:
+        case MAJOR_MAP:
+            if (depth == 0) {
+                push(checkCount(argument)); // elements are checked one by one
+            } else if (argument == 0) {
+                onItem();
+            } else {
+                push(major == MAJOR_MAP ? 2 * checkLength(argument) : checkLength(argument));
+            }
+            break;
+        case MAJOR_TAG:
+            break; // the tagged item follows
+        default:
+            onItem();
+            break;
+        }
+    }
+
+    private void push(long items) {
+        if (depth == MAX_DEPTH) {
+            throw new IllegalArgumentException("CBOR nested too deep");
+        }
+        if (depth == remaining.length) {
+            remaining = Arrays.copyOf(remaining, 2 * depth);
+        }
+        remaining[depth++] = items;
+        if (depth == 1 && items == 0) {
+            closed = true;
+        }
+    }
+
+    // An item ended in the innermost open container; it may end that container too.
+    private void onItem() {
+        while (depth > 1) {
+            long left = remaining[depth - 1];
+            if (left == INDEFINITE || --remaining[depth - 1] > 0) {
+                return;
+            }
+            depth--;
+        }
+        if (completed == null) {
+            completed = new ArrayList<>();
+        }
+        completed.add(take());
+        if (remaining[0] != INDEFINITE && --remaining[0] == 0) {
+            closed = true;
+        }
+    }
+
+    private static long checkCount(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Malformed CBOR array length");
+        }
+        return count;
+    }
+
+    private long checkLength(long length) {
+        if (length < 0 || length > maxElementSize) {
+            throw new PayloadTooLargeException(maxElementSize);
+        }
+        return length;
+    }
+
+    private void append(byte b) {
+        if (size >= maxElementSize) {
+            throw new PayloadTooLargeException(maxElementSize);
+        }
+        if (size == element.length) {
+            element = Arrays.copyOf(element, (int) Math.min(2L * size, Integer.MAX_VALUE - 8));
+        }
+        element[size++] = b;
+    }
+
+    private byte[] take() {
+        byte[] taken = Arrays.copyOf(element, size);
+        size = 0;
+        if (element.length > INITIAL_CAPACITY * 64) {
+            element = new byte[INITIAL_CAPACITY];
+        }
+        return taken;
+    }
+
+}
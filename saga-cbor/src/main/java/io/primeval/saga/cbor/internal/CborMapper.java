@@ -0,0 +1,49 @@
+package io.primeval.saga.cbor.internal;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import io.primeval.common.type.TypeTag;
+
+/**
+ * An {@link ObjectMapper} over Jackson's CBOR format, rebuilt with the Jackson modules registered as services.
+ */
+final class CborMapper {
+
+    private final List<Module> modules = new CopyOnWriteArrayList<>();
+    private volatile ObjectMapper mapper = create(modules);
+
+    ObjectMapper get() {
+        return mapper;
+    }
+
+    JavaType javaType(TypeTag<?> typeTag) {
+        return mapper.getTypeFactory().constructType(typeTag.type);
+    }
+
+    JavaType javaType(TypeTag<?> typeTag, ClassLoader classLoader) {
+        return mapper.getTypeFactory().withClassLoader(classLoader).constructType(typeTag.type);
+    }
+
+    void addModule(Module module) {
+        modules.add(module);
+        mapper = create(modules);
+    }
+
+    void removeModule(Module module) {
+        modules.remove(module);
+        mapper = create(modules);
+    }
+
+    private static ObjectMapper create(List<Module> modules) {
+        ObjectMapper mapper = new ObjectMapper(new CBORFactory());
+        mapper.registerModules(modules);
+        return mapper;
+    }
+
+}
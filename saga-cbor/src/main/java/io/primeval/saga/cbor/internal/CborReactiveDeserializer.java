@@ -0,0 +1,156 @@
+package io.primeval.saga.cbor.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.util.promise.Promise;
+import org.osgi.util.promise.Promises;
+import org.reactivestreams.Publisher;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.primeval.codex.promise.PromiseHelper;
+import io.primeval.common.bytebuffer.ByteBufferListInputStream;
+import io.primeval.common.serdes.DeserializationException;
+import io.primeval.common.type.GenericBoxes;
+import io.primeval.common.type.TypeTag;
+import io.primeval.saga.http.shared.Payload;
+import io.primeval.saga.http.shared.PayloadTooLargeException;
+import io.primeval.saga.renderer.MimeTypes;
+import io.primeval.saga.serdes.SupportsMediaTypes;
+import io.primeval.saga.serdes.deserializer.spi.MediaDeserializer;
+import io.primeval.saga.serdes.deserializer.spi.TypeDeserializer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads CBOR with Jackson. Publishers are read from an array, definite or not, each element decoded as soon as it
+ * has arrived and is requested.
+ */
+@Component(configurationPid = "saga.cbor.deserializer")
+@SupportsMediaTypes(MimeTypes.CBOR)
+public final class CborReactiveDeserializer implements MediaDeserializer {
+
+    private final CborMapper mapper = new CborMapper();
+
+    private long maxBodySize = CborReactiveDeserializerConfig.DEFAULT_MAX_BODY_SIZE;
+
+    final class CborAnyTypeDeserializer<T> implements TypeDeserializer<T> {
+
+        private final TypeTag<? extends T> typeTag;
+        private final ClassLoader classLoader;
+
+        public CborAnyTypeDeserializer(TypeTag<? extends T> typeTag, ClassLoader classLoader) {
+            this.typeTag = typeTag;
+            this.classLoader = classLoader;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Promise<T> deserialize(Payload payload, String mimeType, Map<String, String> options) {
+            Class<? extends T> destType = typeTag.rawType();
+
+            if (Mono.class.isAssignableFrom(destType)) {
+                TypeTag<Object> monoType = GenericBoxes.typeParameter(typeTag);
+
+                Mono<Object> res = Mono.defer(() -> PromiseHelper.toMono(parse(payload, monoType)));
+
+                return Promises.resolved((T) res);
+
+            } else if (Publisher.class.isAssignableFrom(destType)) {
+                TypeTag<Object> elementType = GenericBoxes.typeParameter(typeTag);
+
+                return Promises.resolved((T) elements(payload, elementType));
+            }
+
+            return (Promise<T>) parse(payload, typeTag);
+        }
+
+        <U> Flux<U> elements(Payload payload, TypeTag<U> elementType) {
+            return Flux.defer(() -> {
+                ObjectReader reader = reader(elementType);
+                CborElementSplitter splitter = new CborElementSplitter(maxBodySize);
+                return Flux.from(payload.content).flatMapIterable(splitter::feed)
+                        .concatWith(Flux.defer(() -> Flux.fromIterable(splitter.finish())))
+                        .map(element -> {
+                            U value = fromCbor(reader, element, elementType);
+                            if (value == null) {
+                                throw new DeserializationException(elementType, "Null element in array of");
+                            }
+                            return value;
+                        });
+            });
+        }
+
+        <U> Promise<U> parse(Payload payload, TypeTag<U> toType) {
+            return body(payload).map(buffers -> {
+                if (buffers.isEmpty()) {
+                    return null;
+                }
+                try {
+                    return reader(toType).readValue(new ByteBufferListInputStream(buffers));
+                } catch (IOException e) {
+                    throw new DeserializationException(toType, e);
+                }
+            });
+        }
+
+        <U> U fromCbor(ObjectReader reader, byte[] element, TypeTag<U> toType) {
+            try {
+                return reader.readValue(element);
+            } catch (IOException e) {
+                throw new DeserializationException(toType, e);
+            }
+        }
+
+        private ObjectReader reader(TypeTag<?> toType) {
+            return mapper.get().readerFor(mapper.javaType(toType, classLoader));
+        }
+    }
+
+    @Activate
+    public void activate(CborReactiveDeserializerConfig config) {
+        maxBodySize = config.max_body_size();
+    }
+
+    private Promise<List<ByteBuffer>> body(Payload payload) {
+        OptionalLong contentLength = payload.contentLength;
+        if (contentLength.isPresent() && contentLength.getAsLong() > maxBodySize) {
+            return Promises.failed(new PayloadTooLargeException(maxBodySize));
+        }
+        return PromiseHelper.fromMono(Flux.defer(() -> {
+            long[] received = new long[1];
+            return Flux.from(payload.content).map(buffer -> {
+                received[0] += buffer.remaining();
+                if (received[0] > maxBodySize) {
+                    throw new PayloadTooLargeException(maxBodySize);
+                }
+                return buffer;
+            });
+        }).collectList());
+    }
+
+    @Override
+    public <T> Promise<TypeDeserializer<T>> typeDeserializer(TypeTag<? extends T> typeTag, ClassLoader classLoader) {
+        return Promises.resolved(new CborAnyTypeDeserializer<>(typeTag, classLoader));
+    }
+
+    @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
+    public void addModule(Module module) {
+        mapper.addModule(module);
+    }
+
+    public void removeModule(Module module) {
+        mapper.removeModule(module);
+    }
+
+}
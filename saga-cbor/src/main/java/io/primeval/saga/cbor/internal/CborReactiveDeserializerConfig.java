@@ -0,0 +1,12 @@
+package io.primeval.saga.cbor.internal;
+
+public @interface CborReactiveDeserializerConfig {
+
+    long DEFAULT_MAX_BODY_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Bodies longer than this fail with a {@code PayloadTooLargeException}, without being read further.
+     */
+    long max_body_size() default DEFAULT_MAX_BODY_SIZE;
+
+}
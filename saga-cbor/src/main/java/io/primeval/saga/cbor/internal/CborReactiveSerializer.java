@@ -0,0 +1,112 @@
+package io.primeval.saga.cbor.internal;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.util.promise.Promise;
+import org.osgi.util.promise.Promises;
+import org.reactivestreams.Publisher;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.primeval.codex.promise.PromiseHelper;
+import io.primeval.common.serdes.SerializationException;
+import io.primeval.common.type.GenericBoxes;
+import io.primeval.common.type.TypeTag;
+import io.primeval.saga.http.shared.Payload;
+import io.primeval.saga.renderer.MimeTypes;
+import io.primeval.saga.serdes.SupportsMediaTypes;
+import io.primeval.saga.serdes.serializer.spi.MediaSerializer;
+import io.primeval.saga.serdes.serializer.spi.TypeSerializer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes CBOR with Jackson. Publishers and streams are written as an indefinite-length array, one buffer per
+ * element, as elements are emitted.
+ */
+@Component
+@SupportsMediaTypes(MimeTypes.CBOR)
+public final class CborReactiveSerializer implements MediaSerializer {
+
+    private static final byte[] INDEFINITE_ARRAY_START = { (byte) 0x9f };
+    private static final byte[] BREAK = { (byte) 0xff };
+
+    private final CborMapper mapper = new CborMapper();
+
+    final class CborAnyTypeSerializer<T> implements TypeSerializer<T> {
+
+        private final TypeTag<? extends T> typeTag;
+
+        public CborAnyTypeSerializer(TypeTag<? extends T> typeTag) {
+            this.typeTag = typeTag;
+        }
+
+        @Override
+        public Promise<Payload> serialize(T object, String mediaType, Map<String, String> options) {
+            return PromiseHelper.wrap(() -> {
+                if (object instanceof Mono) {
+                    ObjectWriter writer = writer(elementType());
+                    return Payload.stream(((Mono<?>) object).map(element -> ByteBuffer.wrap(toCbor(writer, element))));
+                } else if (object instanceof Publisher) {
+                    return Payload.stream(elements(Flux.from((Publisher<?>) object)));
+                } else if (object instanceof Stream) {
+                    return Payload.stream(elements(Flux.fromStream((Stream<?>) object)));
+                }
+
+                byte[] b = toCbor(writer(typeTag), object);
+                return Payload.ofLength(b.length, Mono.just(ByteBuffer.wrap(b)));
+            });
+        }
+
+        private Flux<ByteBuffer> elements(Flux<?> elements) {
+            ObjectWriter writer = writer(elementType());
+            return Flux.concat(Mono.fromCallable(() -> ByteBuffer.wrap(INDEFINITE_ARRAY_START)),
+                    elements.map(element -> ByteBuffer.wrap(toCbor(writer, element))),
+                    Mono.fromCallable(() -> ByteBuffer.wrap(BREAK)));
+        }
+
+        private TypeTag<?> elementType() {
+            try {
+                return GenericBoxes.typeParameter(typeTag);
+            } catch (RuntimeException e) {
+                return TypeTag.of(Object.class); // raw type, rely on runtime classes.
+            }
+        }
+
+        private byte[] toCbor(ObjectWriter writer, Object object) {
+            try {
+                return writer.writeValueAsBytes(object);
+            } catch (JsonProcessingException e) {
+                throw new SerializationException(typeTag, e);
+            }
+        }
+
+    }
+
+    private ObjectWriter writer(TypeTag<?> typeTag) {
+        return mapper.get().writerFor(mapper.javaType(typeTag));
+    }
+
+    @Override
+    public <T> Promise<TypeSerializer<T>> typeSerializer(TypeTag<? extends T> typeTag) {
+        return Promises.resolved(new CborAnyTypeSerializer<>(typeTag));
+    }
+
+    @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
+    public void addModule(Module module) {
+        mapper.addModule(module);
+    }
+
+    public void removeModule(Module module) {
+        mapper.removeModule(module);
+    }
+
+}
@@ -0,0 +1,92 @@
+package io.primeval.saga.cbor.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import io.primeval.saga.http.shared.PayloadTooLargeException;
+
+public class CborElementSplitterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper(new CBORFactory());
+
+    @Test
+    public void shouldSplitDefiniteArrays() throws Exception {
+        List<Object> elements = ImmutableList.of(1, -300, "text", ImmutableList.of(1, 2),
+                ImmutableMap.of("a", ImmutableList.of(true, 1.5)), new byte[] { 1, 2, 3 }, 4_000_000_000L);
+
+        List<byte[]> split = splitByteByByte(MAPPER.writeValueAsBytes(elements));
+
+        assertThat(split).hasSize(elements.size());
+        assertThat(MAPPER.readValue(split.get(1), Object.class)).isEqualTo(-300);
+        assertThat(MAPPER.readValue(split.get(4), Object.class)).isEqualTo(elements.get(4));
+        assertThat(MAPPER.readValue(split.get(6), Object.class)).isEqualTo(4_000_000_000L);
+    }
+
+    @Test
+    public void shouldSplitIndefiniteContainers() throws Exception {
+        byte[] body = {
+                (byte) 0x9f, // indefinite array
+                0x7f, 0x61, 'a', 0x61, 'b', (byte) 0xff, // indefinite text "ab"
+                (byte) 0xbf, 0x61, 'k', (byte) 0x9f, (byte) 0xff, (byte) 0xff, // {"k": []}
+                (byte) 0xc1, 0x1a, 0, 0, 0, 1, // tagged epoch
+                (byte) 0xf6, // null
+                (byte) 0xff };
+
+        List<byte[]> split = splitByteByByte(body);
+
+        assertThat(split).hasSize(4);
+        assertThat(MAPPER.readValue(split.get(0), String.class)).isEqualTo("ab");
+        assertThat(split.get(1)).hasSize(6);
+        assertThat(split.get(2)).hasSize(6);
+        assertThat(split.get(3)).containsExactly((byte) 0xf6);
+    }
+
+    @Test
+    public void shouldSplitEmptyArraysAndBodies() throws Exception {
+        assertThat(splitByteByByte(new byte[] { (byte) 0x80 })).isEmpty();
+        assertThat(splitByteByByte(new byte[] { (byte) 0x9f, (byte) 0xff })).isEmpty();
+        assertThat(splitByteByByte(new byte[0])).isEmpty();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonArrays() throws Exception {
+        splitByteByByte(MAPPER.writeValueAsBytes(ImmutableMap.of("a", 1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnterminatedArrays() throws Exception {
+        splitByteByByte(new byte[] { (byte) 0x82, 0x01 });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectContentAfterArray() throws Exception {
+        splitByteByByte(new byte[] { (byte) 0x81, 0x01, 0x02 });
+    }
+
+    @Test(expected = PayloadTooLargeException.class)
+    public void shouldLimitElementSize() throws Exception {
+        CborElementSplitter tested = new CborElementSplitter(16);
+        tested.feed(ByteBuffer.wrap(MAPPER.writeValueAsBytes(ImmutableList.of(new byte[64]))));
+    }
+
+    private static List<byte[]> splitByteByByte(byte[] body) {
+        CborElementSplitter tested = new CborElementSplitter(1024);
+        List<byte[]> split = new ArrayList<>();
+        for (byte b : body) {
+            split.addAll(tested.feed(ByteBuffer.wrap(new byte[] { b })));
+        }
+        split.addAll(tested.finish());
+        return split;
+    }
+
+}
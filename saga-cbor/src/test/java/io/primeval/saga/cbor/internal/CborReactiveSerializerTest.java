@@ -0,0 +1,142 @@
+package io.primeval.saga.cbor.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import io.primeval.common.serdes.DeserializationException;
+import io.primeval.common.type.TypeTag;
+import io.primeval.saga.http.shared.Payload;
+import io.primeval.saga.renderer.MimeTypes;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.UnicastProcessor;
+
+public class CborReactiveSerializerTest {
+
+    private static final TypeTag<Map<String, Object>> MAP = new TypeTag<Map<String, Object>>() {
+    };
+    private static final TypeTag<Flux<String>> FLUX = new TypeTag<Flux<String>>() {
+    };
+    private static final TypeTag<Mono<Integer>> MONO = new TypeTag<Mono<Integer>>() {
+    };
+
+    private static CborReactiveSerializer serializer;
+    private static CborReactiveDeserializer deserializer;
+
+    @BeforeClass
+    public static void setUp() {
+        serializer = new CborReactiveSerializer();
+        deserializer = new CborReactiveDeserializer();
+    }
+
+    @Test
+    public void shouldWriteCbor() throws Exception {
+        Payload payload = serialize(ImmutableMap.of("a", 1), MAP);
+
+        assertThat(payload.contentLength.getAsLong()).isEqualTo(5L);
+        // indefinite-length map, text(1) "a", unsigned(1), break
+        assertThat(unsigned(content(payload))).containsExactly(0xbf, 0x61, 'a', 0x01, 0xff);
+    }
+
+    @Test
+    public void shouldRoundTripObjects() throws Exception {
+        Map<String, Object> object = ImmutableMap.of("name", "saga", "size", 42, "tags",
+                ImmutableList.of("a", "b"), "ratio", 0.5, "nested", ImmutableMap.of("ok", true));
+
+        assertThat(deserialize(serialize(object, MAP), MAP)).isEqualTo(object);
+    }
+
+    @Test
+    public void shouldRoundTripPublishersAsIndefiniteArrays() throws Exception {
+        byte[] bytes = content(serialize(Flux.just("a", "b"), FLUX));
+
+        assertThat(unsigned(bytes)).containsExactly(0x9f, 0x61, 'a', 0x61, 'b', 0xff);
+        List<String> elements = deserialize(payload(bytes), FLUX).collectList().block();
+        assertThat(elements).containsExactly("a", "b");
+    }
+
+    @Test
+    public void shouldReadElementsAsTheyArrive() throws Exception {
+        byte[] bytes = content(serialize(Flux.just("first", "second"), FLUX));
+        UnicastProcessor<ByteBuffer> body = UnicastProcessor.create();
+        List<String> elements = new ArrayList<>();
+
+        deserialize(Payload.stream(body), FLUX).subscribe(elements::add);
+        body.onNext(ByteBuffer.wrap(bytes, 0, 4));
+        assertThat(elements).isEmpty();
+        body.onNext(ByteBuffer.wrap(bytes, 4, 4));
+        assertThat(elements).containsExactly("first");
+        body.onNext(ByteBuffer.wrap(bytes, 8, bytes.length - 8));
+        body.onComplete();
+
+        assertThat(elements).containsExactly("first", "second");
+    }
+
+    @Test
+    public void shouldRejectNullElements() throws Exception {
+        // indefinite array, null
+        byte[] bytes = { (byte) 0x9f, (byte) 0xf6, (byte) 0xff };
+
+        Throwable error = deserialize(payload(bytes), FLUX).collectList().map(l -> (Throwable) null)
+                .onErrorResume(Mono::just).block();
+
+        assertThat(error).isInstanceOf(DeserializationException.class);
+    }
+
+    @Test
+    public void shouldRoundTripMonos() throws Exception {
+        byte[] bytes = content(serialize(Mono.just(42), MONO));
+
+        assertThat(deserialize(payload(bytes), MONO).block()).isEqualTo(42);
+    }
+
+    @Test
+    public void shouldReadEmptyBodies() throws Exception {
+        assertThat(deserialize(Payload.EMPTY, MAP)).isNull();
+        assertThat(deserialize(Payload.EMPTY, FLUX).collectList().block()).isEmpty();
+    }
+
+    private static <T> Payload serialize(T object, TypeTag<T> typeTag) throws Exception {
+        return serializer.typeSerializer(typeTag).getValue().serialize(object, MimeTypes.CBOR, ImmutableMap.of())
+                .getValue();
+    }
+
+    private static <T> T deserialize(Payload payload, TypeTag<T> typeTag) throws Exception {
+        return deserializer.typeDeserializer(typeTag, CborReactiveSerializerTest.class.getClassLoader()).getValue()
+                .deserialize(payload, MimeTypes.CBOR, ImmutableMap.of()).getValue();
+    }
+
+    private static Payload payload(byte[] bytes) {
+        return Payload.ofLength(bytes.length, Mono.just(ByteBuffer.wrap(bytes)));
+    }
+
+    private static byte[] content(Payload payload) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ByteBuffer buffer : Flux.from(payload.content).toIterable()) {
+            byte[] b = new byte[buffer.remaining()];
+            buffer.get(b);
+            out.write(b, 0, b.length);
+        }
+        return out.toByteArray();
+    }
+
+    private static int[] unsigned(byte[] bytes) {
+        int[] unsigned = new int[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            unsigned[i] = bytes[i] & 0xFF;
+        }
+        return unsigned;
+    }
+
+}
@@ -1,6 +1,7 @@
 package io.primeval.saga.core.internal.action;
 
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import org.osgi.util.promise.Promise;
@@ -20,16 +21,20 @@ import io.primeval.saga.http.server.spi.HttpServerEvent;
 import io.primeval.saga.http.shared.Payload;
 import io.primeval.saga.parameter.HttpParameterConverter;
 import io.primeval.saga.parameter.HttpParameterConvertingException;
+import io.primeval.saga.router.RouterMatch;
 import io.primeval.saga.serdes.deserializer.Deserializer;
 
 public final class ContextImpl implements Context {
 
     private final HttpServerEvent event;
+    private final /* nullable */ RouterMatch routerMatch;
     private final Deserializer deserializer;
     private final HttpParameterConverter paramConverter;
 
-    public ContextImpl(HttpServerEvent event, Deserializer deserializer, HttpParameterConverter paramConverter) {
+    public ContextImpl(HttpServerEvent event, RouterMatch routerMatch, Deserializer deserializer,
+            HttpParameterConverter paramConverter) {
         this.event = event;
+        this.routerMatch = routerMatch;
         this.deserializer = deserializer;
         this.paramConverter = paramConverter;
     }
@@ -94,6 +99,27 @@ public final class ContextImpl implements Context {
         }
     }
 
+    @Override
+    public Optional<String> pathParameter(String parameterName) {
+        if (routerMatch == null) {
+            return Optional.empty();
+        }
+        return routerMatch.pathParameter(parameterName);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Promise<T> pathParameter(String parameterName, TypeTag<? extends T> typeTag, ClassLoader classLoader) {
+        Optional<String> pathParameter = pathParameter(parameterName);
+        if (!pathParameter.isPresent()) {
+            return Promises.failed(new NoSuchElementException("no such path parameter named " + parameterName));
+        }
+        if (typeTag.rawType() == String.class) {
+            return Promises.resolved((T) pathParameter.get());
+        }
+        return (Promise<T>) paramConverter.createParameter(pathParameter.get(), typeTag);
+    }
+
     @Override
     public Payload body() {
         return event.content();
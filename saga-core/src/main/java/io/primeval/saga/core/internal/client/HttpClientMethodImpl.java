@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableListMultimap.Builder;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -42,6 +43,7 @@ import io.primeval.saga.http.client.method.HttpClientMethod;
 import io.primeval.saga.http.protocol.HeaderNames;
 import io.primeval.saga.http.protocol.HttpMethod;
 import io.primeval.saga.http.shared.Payload;
+import io.primeval.saga.renderer.MimeTypes;
 import io.primeval.saga.serdes.deserializer.Deserializer;
 import io.primeval.saga.serdes.serializer.Serializer;
 
@@ -49,6 +51,10 @@ public abstract class HttpClientMethodImpl<T extends HttpClientMethod<T>> implem
 
     private final static Logger LOGGER = LoggerFactory.getLogger(HttpClientMethodImpl.class);
 
+    private static final Set<String> BINARY_MEDIA_TYPES = ImmutableSet.of(MimeTypes.CBOR, MimeTypes.SMILE,
+            MimeTypes.MSGPACK);
+    private static final String TEXT_MEDIA_TYPE_QUALITY = ";q=0.9";
+
     final BoundHttpClientImpl boundClient;
     final HttpMethod method;
 
@@ -187,7 +193,7 @@ public abstract class HttpClientMethodImpl<T extends HttpClientMethod<T>> implem
         CancelablePromise<HttpClientRawResponse> rawPromise = CancelablePromise.wrap(acceptTypesPms.flatMap(acceptTypes -> {
             return exec(
                     payload -> prepareHeaders(boundClient.httpClient, null,
-                            Stream.of(Maps.immutableEntry(HeaderNames.ACCEPT, Joiner.on(',').join(acceptTypes))),
+                            Stream.of(Maps.immutableEntry(HeaderNames.ACCEPT, acceptHeader(acceptTypes))),
                             payload));
 
         }));
@@ -255,6 +261,20 @@ public abstract class HttpClientMethodImpl<T extends HttpClientMethod<T>> implem
 
     }
 
-
+    // Binary media types are preferred when both ends support them, text formats stay acceptable.
+    static String acceptHeader(Set<String> mediaTypes) {
+        if (Collections.disjoint(mediaTypes, BINARY_MEDIA_TYPES)) {
+            return Joiner.on(',').join(mediaTypes);
+        }
+        List<String> accept = Lists.newArrayListWithCapacity(mediaTypes.size());
+        for (String mediaType : mediaTypes) {
+            if (BINARY_MEDIA_TYPES.contains(mediaType)) {
+                accept.add(0, mediaType);
+            } else {
+                accept.add(mediaType + TEXT_MEDIA_TYPE_QUALITY);
+            }
+        }
+        return Joiner.on(',').join(accept);
+    }
 
 }
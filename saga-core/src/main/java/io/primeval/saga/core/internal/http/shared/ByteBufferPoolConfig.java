@@ -0,0 +1,10 @@
+package io.primeval.saga.core.internal.http.shared;
+
+public @interface ByteBufferPoolConfig {
+
+    /**
+     * Whether pooled buffers are allocated outside of the heap.
+     */
+    boolean direct() default false;
+
+}
@@ -0,0 +1,108 @@
+package io.primeval.saga.core.internal.http.shared;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+
+import io.primeval.saga.http.shared.ByteBufferPool;
+
+/**
+ * Size-classed pool of 512 bytes to 128 KiB buffers. Each thread keeps a few buffers per size class at hand; buffers
+ * are usually released by I/O threads and acquired by others, so the surplus goes to a bounded shared queue.
+ */
+@Component(configurationPid = "saga.buffer.pool")
+public final class ByteBufferPoolImpl implements ByteBufferPool {
+
+    private static final int MIN_CAPACITY_SHIFT = 9; // 512 bytes
+    private static final int SIZE_CLASS_SHIFT = 2; // x4 per size class
+    private static final int SIZE_CLASSES = 5; // up to 128 KiB
+
+    private static final int THREAD_CACHE_SIZE = 8;
+    private static final int SHARED_BYTES_PER_SIZE_CLASS = 4 * 1024 * 1024;
+
+    private final Queue<ByteBuffer>[] shared;
+    private final AtomicInteger[] sharedCounts;
+
+    private final ThreadLocal<ArrayDeque<ByteBuffer>[]> threadCaches = ThreadLocal.withInitial(() -> {
+        @SuppressWarnings("unchecked")
+        ArrayDeque<ByteBuffer>[] caches = new ArrayDeque[SIZE_CLASSES];
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            caches[i] = new ArrayDeque<>(THREAD_CACHE_SIZE);
+        }
+        return caches;
+    });
+
+    private volatile boolean direct;
+
+    @SuppressWarnings("unchecked")
+    public ByteBufferPoolImpl() {
+        shared = new Queue[SIZE_CLASSES];
+        sharedCounts = new AtomicInteger[SIZE_CLASSES];
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            shared[i] = new ConcurrentLinkedQueue<>();
+            sharedCounts[i] = new AtomicInteger();
+        }
+    }
+
+    @Activate
+    public void activate(ByteBufferPoolConfig config) {
+        direct = config.direct();
+    }
+
+    @Override
+    public ByteBuffer acquire(int minCapacity) {
+        int sizeClass = sizeClassFor(minCapacity);
+        if (sizeClass < 0) {
+            return ByteBuffer.allocate(minCapacity); // too large to pool
+        }
+        ByteBuffer buffer = threadCaches.get()[sizeClass].pollFirst();
+        if (buffer == null) {
+            buffer = shared[sizeClass].poll();
+            if (buffer != null) {
+                sharedCounts[sizeClass].decrementAndGet();
+            }
+        }
+        if (buffer == null || buffer.isDirect() != direct) {
+            int capacity = capacityOf(sizeClass);
+            return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    @Override
+    public void release(ByteBuffer buffer) {
+        int sizeClass = sizeClassFor(buffer.capacity());
+        if (sizeClass < 0 || capacityOf(sizeClass) != buffer.capacity() || buffer.isReadOnly()) {
+            return;
+        }
+        ArrayDeque<ByteBuffer> threadCache = threadCaches.get()[sizeClass];
+        if (threadCache.size() < THREAD_CACHE_SIZE) {
+            threadCache.offerFirst(buffer);
+        } else if (sharedCounts[sizeClass].incrementAndGet() <= SHARED_BYTES_PER_SIZE_CLASS / capacityOf(sizeClass)) {
+            shared[sizeClass].offer(buffer);
+        } else {
+            sharedCounts[sizeClass].decrementAndGet();
+        }
+    }
+
+    private static int sizeClassFor(int capacity) {
+        int sizeClass = 0;
+        while (capacityOf(sizeClass) < capacity) {
+            if (++sizeClass == SIZE_CLASSES) {
+                return -1;
+            }
+        }
+        return sizeClass;
+    }
+
+    private static int capacityOf(int sizeClass) {
+        return 1 << (MIN_CAPACITY_SHIFT + SIZE_CLASS_SHIFT * sizeClass);
+    }
+
+}
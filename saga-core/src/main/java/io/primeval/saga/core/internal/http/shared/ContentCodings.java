@@ -0,0 +1,406 @@
+package io.primeval.saga.core.internal.http.shared;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import io.primeval.saga.http.shared.ByteBufferPool;
+import io.primeval.saga.http.shared.Payload;
+import io.primeval.saga.http.shared.PayloadTooLargeException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Streaming gzip and deflate content codings. Payloads are (de)compressed buffer by buffer as they are sent or
+ * received; compressors are pooled and reused across payloads.
+ */
+public final class ContentCodings {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+    private static final int GZIP_TRAILER_SIZE = 8;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private static final int MIN_OUTPUT_SIZE = 64;
+    private static final int MAX_POOLED_DEFLATERS = 64;
+
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private static final Queue<Deflater> gzipDeflaters = new ConcurrentLinkedQueue<>();
+    private static final Queue<Deflater> zlibDeflaters = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger pooledDeflaters = new AtomicInteger();
+
+    private ContentCodings() {
+    }
+
+    public static boolean isSupported(String coding) {
+        return GZIP.equals(coding) || DEFLATE.equals(coding);
+    }
+
+    /**
+     * The preferred coding acceptable according to the Accept-Encoding header values, gzip winning ties.
+     */
+    public static /* nullable */ String negotiate(/* nullable */ List<String> acceptEncodings) {
+        if (acceptEncodings == null) {
+            return null;
+        }
+        float gzip = -1;
+        float deflate = -1;
+        float any = -1;
+        for (String acceptEncoding : acceptEncodings) {
+            for (String element : acceptEncoding.split(",")) {
+                String[] parts = element.split(";");
+                String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+                float q = quality(parts);
+                if (GZIP.equals(coding) || "x-gzip".equals(coding)) {
+                    gzip = q;
+                } else if (DEFLATE.equals(coding)) {
+                    deflate = q;
+                } else if ("*".equals(coding)) {
+                    any = q;
+                }
+            }
+        }
+        gzip = gzip < 0 ? any : gzip;
+        deflate = deflate < 0 ? any : deflate;
+        if (gzip <= 0 && deflate <= 0) {
+            return null;
+        }
+        return gzip >= deflate ? GZIP : DEFLATE;
+    }
+
+    private static float quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Float.parseFloat(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Compresses a payload as it is sent. The length of the result is unknown; payloads of unknown length are
+     * flushed buffer by buffer so that streamed elements are not held back.
+     */
+    public static Payload encode(Payload payload, String coding) {
+        boolean gzip = GZIP.equals(coding);
+        boolean flushEachBuffer = !payload.contentLength.isPresent();
+        ByteBufferPool bufferPool = payload.bufferPool;
+        return Payload.stream(Flux.defer(() -> {
+            Encoder encoder = new Encoder(gzip, flushEachBuffer);
+            return Flux.from(payload.content).map(buffer -> {
+                ByteBuffer encoded = encoder.encode(buffer);
+                if (bufferPool != null) {
+                    bufferPool.release(buffer);
+                }
+                return encoded;
+            }).concatWith(Mono.fromCallable(encoder::finish)).filter(ByteBuffer::hasRemaining)
+                    .doOnCancel(encoder::discard).doOnError(error -> encoder.discard());
+        }));
+    }
+
+    /**
+     * Decompresses a payload as it is received, failing with a {@link PayloadTooLargeException} once more than
+     * {@code maxDecodedSize} bytes are decompressed.
+     */
+    public static Payload decode(Payload payload, String coding, long maxDecodedSize) {
+        boolean gzip = GZIP.equals(coding);
+        return Payload.stream(Flux.defer(() -> {
+            Decoder decoder = new Decoder(gzip, maxDecodedSize);
+            return Flux.from(payload.content).map(decoder::decode).concatWith(Mono.fromCallable(decoder::finish))
+                    .filter(ByteBuffer::hasRemaining).doOnCancel(decoder::discard)
+                    .doOnError(error -> decoder.discard());
+        }));
+    }
+
+    private static Deflater acquireDeflater(boolean gzip) {
+        Deflater deflater = (gzip ? gzipDeflaters : zlibDeflaters).poll();
+        if (deflater == null) {
+            return new Deflater(Deflater.DEFAULT_COMPRESSION, gzip);
+        }
+        pooledDeflaters.decrementAndGet();
+        return deflater;
+    }
+
+    private static void releaseDeflater(Deflater deflater, boolean gzip) {
+        if (pooledDeflaters.incrementAndGet() > MAX_POOLED_DEFLATERS) {
+            pooledDeflaters.decrementAndGet();
+            deflater.end();
+            return;
+        }
+        deflater.reset();
+        (gzip ? gzipDeflaters : zlibDeflaters).offer(deflater);
+    }
+
+    static final class Encoder {
+
+        private final boolean gzip;
+        private final int flush;
+        private final Deflater deflater;
+        private final /* nullable */ CRC32 crc;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private boolean headerWritten;
+
+        Encoder(boolean gzip, boolean flushEachBuffer) {
+            this.gzip = gzip;
+            this.flush = flushEachBuffer ? Deflater.SYNC_FLUSH : Deflater.NO_FLUSH;
+            this.deflater = acquireDeflater(gzip);
+            this.crc = gzip ? new CRC32() : null;
+        }
+
+        ByteBuffer encode(ByteBuffer buffer) {
+            int length = buffer.remaining();
+            byte[] input;
+            int offset;
+            if (buffer.hasArray()) {
+                input = buffer.array();
+                offset = buffer.arrayOffset() + buffer.position();
+            } else {
+                input = new byte[length];
+                offset = 0;
+                buffer.duplicate().get(input);
+            }
+            if (crc != null) {
+                crc.update(input, offset, length);
+            }
+            deflater.setInput(input, offset, length);
+
+            byte[] out = new byte[Math.max(MIN_OUTPUT_SIZE, length / 2)];
+            int count = header(out);
+            while (true) {
+                if (count == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                count += deflater.deflate(out, count, out.length - count, flush);
+                // A flush is complete once the output is not filled up.
+                if (count < out.length && deflater.needsInput()) {
+                    break;
+                }
+            }
+            return ByteBuffer.wrap(out, 0, count);
+        }
+
+        ByteBuffer finish() {
+            deflater.finish();
+            byte[] out = new byte[MIN_OUTPUT_SIZE];
+            int count = header(out);
+            while (!deflater.finished()) {
+                if (count == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                count += deflater.deflate(out, count, out.length - count);
+            }
+            if (gzip) {
+                out = Arrays.copyOf(out, count + GZIP_TRAILER_SIZE);
+                writeIntLE(out, count, (int) crc.getValue());
+                writeIntLE(out, count + 4, (int) deflater.getBytesRead());
+                count += GZIP_TRAILER_SIZE;
+            }
+            if (released.compareAndSet(false, true)) {
+                releaseDeflater(deflater, gzip);
+            }
+            return ByteBuffer.wrap(out, 0, count);
+        }
+
+        // Cancelled or failed streams may still be using the deflater on another thread, it is not pooled.
+        void discard() {
+            if (released.compareAndSet(false, true)) {
+                deflater.end();
+            }
+        }
+
+        private int header(byte[] out) {
+            if (!gzip || headerWritten) {
+                return 0;
+            }
+            headerWritten = true;
+            System.arraycopy(GZIP_HEADER, 0, out, 0, GZIP_HEADER.length);
+            return GZIP_HEADER.length;
+        }
+
+    }
+
+    static final class Decoder {
+
+        private final boolean gzip;
+        private final long maxSize;
+        private final Inflater inflater;
+        private final /* nullable */ CRC32 crc;
+
+        private /* nullable */ byte[] header; // gzip header bytes, until complete
+        private int headerCount;
+        private final byte[] trailer = new byte[GZIP_TRAILER_SIZE];
+        private int trailerCount;
+
+        Decoder(boolean gzip, long maxSize) {
+            this.gzip = gzip;
+            this.maxSize = maxSize;
+            this.inflater = new Inflater(gzip);
+            this.crc = gzip ? new CRC32() : null;
+            this.header = gzip ? new byte[GZIP_HEADER.length] : null;
+        }
+
+        ByteBuffer decode(ByteBuffer buffer) {
+            int length = buffer.remaining();
+            if (header == null && buffer.hasArray()) {
+                return inflate(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+            }
+            byte[] input = new byte[length];
+            buffer.duplicate().get(input);
+            if (header == null) {
+                return inflate(input, 0, length);
+            }
+            if (headerCount + length > header.length) {
+                header = Arrays.copyOf(header, headerCount + length);
+            }
+            System.arraycopy(input, 0, header, headerCount, length);
+            headerCount += length;
+            int headerLength = gzipHeaderLength(header, headerCount);
+            if (headerLength < 0) {
+                return EMPTY;
+            }
+            byte[] pending = header;
+            header = null;
+            return inflate(pending, headerLength, headerCount - headerLength);
+        }
+
+        private ByteBuffer inflate(byte[] input, int offset, int length) {
+            if (inflater.finished()) {
+                trailer(input, offset, length);
+                return EMPTY;
+            }
+            inflater.setInput(input, offset, length);
+            // Never more than one byte beyond the limit, however much the input expands.
+            byte[] out = new byte[outputSize(Math.max(MIN_OUTPUT_SIZE, length * 2L), 0)];
+            int count = 0;
+            try {
+                while (true) {
+                    if (count == out.length) {
+                        out = Arrays.copyOf(out, outputSize(out.length * 2L, count));
+                    }
+                    int n = inflater.inflate(out, count, out.length - count);
+                    count += n;
+                    if (inflater.getBytesWritten() > maxSize) {
+                        throw new PayloadTooLargeException(maxSize);
+                    }
+                    if (n == 0 && (inflater.needsInput() || inflater.finished() || inflater.needsDictionary())) {
+                        break;
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw invalid(e.getMessage());
+            }
+            if (crc != null) {
+                crc.update(out, 0, count);
+            }
+            if (inflater.finished()) {
+                int remaining = inflater.getRemaining();
+                trailer(input, offset + length - remaining, remaining);
+            }
+            return ByteBuffer.wrap(out, 0, count);
+        }
+
+        private int outputSize(long size, int count) {
+            long room = Math.min(maxSize - inflater.getBytesWritten(), Integer.MAX_VALUE);
+            return (int) Math.min(Math.min(size, count + room + 1), Integer.MAX_VALUE - 8);
+        }
+
+        private void trailer(byte[] input, int offset, int length) {
+            if (!gzip) {
+                return;
+            }
+            int n = Math.min(length, GZIP_TRAILER_SIZE - trailerCount);
+            System.arraycopy(input, offset, trailer, trailerCount, n);
+            trailerCount += n;
+        }
+
+        ByteBuffer finish() {
+            try {
+                if (header != null || !inflater.finished() || trailerCount < (gzip ? GZIP_TRAILER_SIZE : 0)) {
+                    throw invalid("Truncated " + (gzip ? GZIP : DEFLATE) + " content");
+                }
+                if (gzip && (readIntLE(trailer, 0) != (int) crc.getValue()
+                        || readIntLE(trailer, 4) != (int) inflater.getBytesWritten())) {
+                    throw invalid("Corrupt gzip content");
+                }
+                return EMPTY;
+            } finally {
+                inflater.end();
+            }
+        }
+
+        void discard() {
+            inflater.end();
+        }
+
+    }
+
+    // -1 while incomplete.
+    static int gzipHeaderLength(byte[] header, int count) {
+        if (count < GZIP_HEADER.length) {
+            return -1;
+        }
+        if (header[0] != GZIP_HEADER[0] || header[1] != GZIP_HEADER[1] || header[2] != Deflater.DEFLATED) {
+            throw invalid("Not in gzip format");
+        }
+        int flags = header[3] & 0xff;
+        int position = GZIP_HEADER.length;
+        if ((flags & FEXTRA) != 0) {
+            if (count < position + 2) {
+                return -1;
+            }
+            position += 2 + ((header[position] & 0xff) | (header[position + 1] & 0xff) << 8);
+        }
+        for (int flag : new int[] { FNAME, FCOMMENT }) {
+            if ((flags & flag) != 0) {
+                do {
+                    if (position >= count) {
+                        return -1;
+                    }
+                } while (header[position++] != 0);
+            }
+        }
+        if ((flags & FHCRC) != 0) {
+            position += 2;
+        }
+        return position <= count ? position : -1;
+    }
+
+    private static UncheckedIOException invalid(String message) {
+        return new UncheckedIOException(new ZipException(message));
+    }
+
+    private static void writeIntLE(byte[] b, int offset, int value) {
+        b[offset] = (byte) value;
+        b[offset + 1] = (byte) (value >> 8);
+        b[offset + 2] = (byte) (value >> 16);
+        b[offset + 3] = (byte) (value >> 24);
+    }
+
+    private static int readIntLE(byte[] b, int offset) {
+        return (b[offset] & 0xff) | (b[offset + 1] & 0xff) << 8 | (b[offset + 2] & 0xff) << 16
+                | (b[offset + 3] & 0xff) << 24;
+    }
+
+}
@@ -0,0 +1,141 @@
+package io.primeval.saga.core.internal.router;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+import io.primeval.saga.http.protocol.HttpMethod;
+import io.primeval.saga.router.RouteSegment;
+import io.primeval.saga.router.RouterAction;
+
+/**
+ * Immutable snapshot of all bound routes, compiled into one segment trie per {@link HttpMethod}. Static segments are
+ * tried first, then wildcard captures, then regex segments, backtracking when a branch dead-ends.
+ */
+public final class RouteTrie {
+
+    public static final RouteTrie EMPTY = new RouteTrie(ImmutableMap.of());
+
+    private final Map<HttpMethod, Node> roots;
+
+    private RouteTrie(Map<HttpMethod, Node> roots) {
+        this.roots = roots;
+    }
+
+    public static RouteTrie build(Iterable<? extends Iterable<RouterAction>> routerActions) {
+        Map<HttpMethod, NodeBuilder> builders = new EnumMap<>(HttpMethod.class);
+        for (Iterable<RouterAction> boundActions : routerActions) {
+            for (RouterAction boundAction : boundActions) {
+                NodeBuilder node = builders.computeIfAbsent(boundAction.route.method, m -> new NodeBuilder());
+                for (RouteSegment segment : boundAction.route.segments) {
+                    node = node.child(segment);
+                }
+                if (node.action == null) {
+                    node.action = boundAction;
+                }
+            }
+        }
+        return new RouteTrie(Maps.immutableEnumMap(Maps.transformValues(builders, NodeBuilder::build)));
+    }
+
+    /* nullable */ public RouterAction find(HttpMethod method, List<String> path) {
+        Node root = roots.get(method);
+        if (root == null) {
+            return null;
+        }
+        return root.find(path, 0);
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals;
+        private final Node wildcard;
+        private final List<RouteSegment> regexes;
+        private final List<Node> regexChildren;
+        private final RouterAction action;
+
+        Node(Map<String, Node> literals, Node wildcard, List<RouteSegment> regexes, List<Node> regexChildren,
+                RouterAction action) {
+            this.literals = literals;
+            this.wildcard = wildcard;
+            this.regexes = regexes;
+            this.regexChildren = regexChildren;
+            this.action = action;
+        }
+
+        RouterAction find(List<String> path, int depth) {
+            if (depth == path.size()) {
+                return action;
+            }
+            String pathSeg = path.get(depth);
+            Node literal = literals.get(pathSeg);
+            if (literal != null) {
+                RouterAction found = literal.find(path, depth + 1);
+                if (found != null) {
+                    return found;
+                }
+            }
+            if (wildcard != null) {
+                RouterAction found = wildcard.find(path, depth + 1);
+                if (found != null) {
+                    return found;
+                }
+            }
+            for (int i = 0; i < regexes.size(); i++) {
+                if (regexes.get(i).matches(pathSeg)) {
+                    RouterAction found = regexChildren.get(i).find(path, depth + 1);
+                    if (found != null) {
+                        return found;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class NodeBuilder {
+        private final Map<String, NodeBuilder> literals = new HashMap<>();
+        private NodeBuilder wildcard;
+        // regexes are tried in registration order
+        private final List<RouteSegment> regexes = new ArrayList<>();
+        private final List<NodeBuilder> regexChildren = new ArrayList<>();
+        private RouterAction action;
+
+        NodeBuilder child(RouteSegment segment) {
+            switch (segment.kind) {
+            case WILDCARD:
+                if (wildcard == null) {
+                    wildcard = new NodeBuilder();
+                }
+                return wildcard;
+            case LITERAL:
+                return literals.computeIfAbsent(segment.pattern, s -> new NodeBuilder());
+            default:
+                break;
+            }
+            int idx = regexes.indexOf(segment);
+            if (idx >= 0) {
+                return regexChildren.get(idx);
+            }
+            NodeBuilder child = new NodeBuilder();
+            regexes.add(segment);
+            regexChildren.add(child);
+            return child;
+        }
+
+        Node build() {
+            ImmutableMap.Builder<String, Node> literalNodes = ImmutableMap.builder();
+            literals.forEach((seg, child) -> literalNodes.put(seg, child.build()));
+            ImmutableList.Builder<Node> regexNodes = ImmutableList.builder();
+            regexChildren.forEach(child -> regexNodes.add(child.build()));
+            return new Node(literalNodes.build(), wildcard == null ? null : wildcard.build(),
+                    ImmutableList.copyOf(regexes), regexNodes.build(), action);
+        }
+    }
+
+}
@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -19,32 +18,27 @@ import io.primeval.saga.http.protocol.HttpMethod;
 import io.primeval.saga.router.Route;
 import io.primeval.saga.router.Router;
 import io.primeval.saga.router.RouterAction;
+import io.primeval.saga.router.RouterMatch;
 import io.primeval.saga.router.spi.RouterActionProvider;
 import io.primeval.saga.router.spi.RouterActionProviderKey;
 
 @Component(immediate = true)
 public final class RouterImpl implements Router {
 
-    private final Map<RouterActionProviderKey, List<RouterAction>> boundActionByKey = new ConcurrentHashMap<>();;
+    private final Map<RouterActionProviderKey, List<RouterAction>> boundActionByKey = new ConcurrentHashMap<>();
+
+    // Rebuilt on every binding change, read lock-free.
+    private volatile RouteTrie routeTrie = RouteTrie.EMPTY;
 
     @Override
-    public Promise<Optional<RouterAction>> getActionFor(HttpMethod method, List<String> path) {
-        return PromiseHelper.wrap(() -> {
-            // naive route finding
-            for (List<RouterAction> boundActions : boundActionByKey.values()) {
-                for (RouterAction boundAction : boundActions) {
-                    if (boundAction.route.matches(method, path)) {
-                        return Optional.of(boundAction);
-                    }
-                }
-            }
-            return Optional.empty();
-        });
+    public RouterMatch findMatch(HttpMethod method, List<String> path) {
+        RouterAction routerAction = routeTrie.find(method, path);
+        return routerAction != null ? RouterMatch.of(routerAction, path) : null;
     }
 
     @Override
-    public Promise<Optional<RouterAction>> getActionFor(String method, List<String> path) {
-        return getActionFor(HttpMethod.from(method), path);
+    public RouterAction findAction(HttpMethod method, List<String> path) {
+        return routeTrie.find(method, path);
     }
 
     @Override
@@ -56,12 +50,14 @@ public final class RouterImpl implements Router {
     }
 
     @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
-    public void addRouterActionProvider(RouterActionProvider provider) {
+    public synchronized void addRouterActionProvider(RouterActionProvider provider) {
         boundActionByKey.put(provider.id(), new ArrayList<>(provider.routerActions()));
+        routeTrie = RouteTrie.build(boundActionByKey.values());
     }
 
-    public void removeRouterActionProvider(RouterActionProvider provider) {
+    public synchronized void removeRouterActionProvider(RouterActionProvider provider) {
         boundActionByKey.remove(provider.id());
+        routeTrie = RouteTrie.build(boundActionByKey.values());
     }
 
 }
@@ -0,0 +1,83 @@
+package io.primeval.saga.core.internal.serdes;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.osgi.util.promise.Promise;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.primeval.common.type.TypeTag;
+
+/**
+ * Resolved type (de)serializers by media type, type and class loader. Lookups do not lock.
+ */
+public final class TypeSerDesCache<V> {
+
+    private static final int WITHOUT_CLASS_LOADER_SIZE = 1024;
+
+    // Cached (de)serializers usually reference their class loader, so weak keys alone would never be cleared, and soft
+    // values only go once memory runs low: owners replace the cache whenever a bundle is unresolved.
+    private final Cache<ClassLoader, Map<Key, Promise<V>>> byClassLoader;
+
+    // Types of the bootstrap loader, which may still have type arguments of other loaders: bounded.
+    private final Cache<Key, Promise<V>> withoutClassLoader;
+
+    public TypeSerDesCache() {
+        this(true);
+    }
+
+    // Weak partitions only let tests observe that nothing else holds on to class loaders.
+    TypeSerDesCache(boolean softPartitions) {
+        CacheBuilder<Object, Object> partitions = CacheBuilder.newBuilder().weakKeys();
+        byClassLoader = (softPartitions ? partitions.softValues() : partitions.weakValues()).build();
+        withoutClassLoader = CacheBuilder.newBuilder().maximumSize(WITHOUT_CLASS_LOADER_SIZE).softValues().build();
+    }
+
+    public /* nullable */ Promise<V> get(String mediaType, TypeTag<?> typeTag, /* nullable */ ClassLoader classLoader) {
+        Key key = new Key(mediaType, typeTag);
+        if (classLoader == null) {
+            return withoutClassLoader.getIfPresent(key);
+        }
+        Map<Key, Promise<V>> entries = byClassLoader.getIfPresent(classLoader);
+        return entries == null ? null : entries.get(key);
+    }
+
+    public void put(String mediaType, TypeTag<?> typeTag, /* nullable */ ClassLoader classLoader, Promise<V> resolved) {
+        Key key = new Key(mediaType, typeTag);
+        if (classLoader == null) {
+            withoutClassLoader.put(key, resolved);
+            return;
+        }
+        byClassLoader.asMap().computeIfAbsent(classLoader, cl -> new ConcurrentHashMap<>()).put(key, resolved);
+    }
+
+    private static final class Key {
+
+        private final String mediaType;
+        private final TypeTag<?> typeTag;
+
+        Key(String mediaType, TypeTag<?> typeTag) {
+            this.mediaType = mediaType;
+            this.typeTag = typeTag;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * mediaType.hashCode() + typeTag.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (obj == null || getClass() != obj.getClass())
+                return false;
+            Key other = (Key) obj;
+            return Objects.equals(mediaType, other.mediaType) && Objects.equals(typeTag, other.typeTag);
+        }
+    }
+
+}
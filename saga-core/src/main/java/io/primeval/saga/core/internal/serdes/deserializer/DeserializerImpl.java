@@ -5,11 +5,17 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.BundleListener;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.util.promise.Promise;
+import org.osgi.util.promise.Promises;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,6 +26,7 @@ import io.primeval.codex.promise.PromiseHelper;
 import io.primeval.common.property.PropertyHelper;
 import io.primeval.common.serdes.DeserializationException;
 import io.primeval.common.type.TypeTag;
+import io.primeval.saga.core.internal.serdes.TypeSerDesCache;
 import io.primeval.saga.http.shared.Payload;
 import io.primeval.saga.serdes.deserializer.Deserializer;
 import io.primeval.saga.serdes.deserializer.SerDesConstants;
@@ -32,6 +39,28 @@ public final class DeserializerImpl implements Deserializer {
 
     private final Map<String, MediaDeserializer> mediaDeserializers = new ConcurrentHashMap<>();
 
+    // Replaced, rather than cleared, when media deserializers change: in-flight lookups land in the stale cache.
+    private volatile TypeSerDesCache<TypeDeserializer<?>> deserializations = new TypeSerDesCache<>();
+
+    // Cached deserializers hold on to their class loaders; a refreshed bundle must not keep its old one.
+    private final BundleListener bundleListener = this::bundleChanged;
+
+    @Activate
+    public void activate(BundleContext bundleContext) {
+        bundleContext.addBundleListener(bundleListener);
+    }
+
+    @Deactivate
+    public void deactivate(BundleContext bundleContext) {
+        bundleContext.removeBundleListener(bundleListener);
+    }
+
+    void bundleChanged(BundleEvent event) {
+        if (event.getType() == BundleEvent.UNRESOLVED) {
+            deserializations = new TypeSerDesCache<>();
+        }
+    }
+
     @Override
     public <T> Promise<T> deserialize(Payload payload, TypeTag<? extends T> typeTag, ClassLoader classLoader, String mediaType,
             Map<String, String> options) {
@@ -43,9 +72,16 @@ public final class DeserializerImpl implements Deserializer {
         return deserialization(typeTag, classLoader, mediaType).map(x -> true).recover(p -> false);
     }
 
+    @SuppressWarnings({ "unchecked", "rawtypes" })
     public <T> Promise<TypeDeserializer<T>> deserialization(TypeTag<? extends T> typeTag, ClassLoader classLoader,
             String mediaType) {
-        return PromiseHelper.wrapPromise(e -> new DeserializationException(typeTag, mediaType, e),
+        TypeSerDesCache<TypeDeserializer<?>> cache = deserializations;
+        Promise cached = cache.get(mediaType, typeTag, classLoader);
+        if (cached != null) {
+            return cached;
+        }
+        Promise<TypeDeserializer<T>> deserialization = PromiseHelper.wrapPromise(
+                e -> new DeserializationException(typeTag, mediaType, e),
                 () -> {
                     MediaDeserializer mediaDeserializer = mediaDeserializers.get(mediaType);
                     if (mediaDeserializer == null) {
@@ -53,12 +89,16 @@ public final class DeserializerImpl implements Deserializer {
                     }
                     return mediaDeserializer.typeDeserializer(typeTag, classLoader);
                 });
+        return deserialization.map(des -> {
+            cache.put(mediaType, typeTag, classLoader, Promises.resolved(des));
+            return des;
+        });
     }
 
     public Promise<Set<String>> deserializableMediaTypes(TypeTag<?> typeTag, ClassLoader classLoader) {
-        return mediaDeserializers.entrySet().stream()
-                .map(mtd -> mtd.getValue().typeDeserializer(typeTag, classLoader)
-                        .map(x -> mtd.getKey()))
+        return mediaDeserializers.keySet().stream()
+                .map(mediaType -> deserialization(typeTag, classLoader, mediaType)
+                        .map(x -> mediaType))
                 .collect(PromiseCollector.allSuccessful()).map(ImmutableSet::copyOf);
     }
 
@@ -69,10 +109,12 @@ public final class DeserializerImpl implements Deserializer {
 
     public void addMimeTypeDeserializer(String mediaType, MediaDeserializer mediaDeserializer) {
         this.mediaDeserializers.put(mediaType, mediaDeserializer);
+        deserializations = new TypeSerDesCache<>();
     }
 
     public void removeMimeTypeDeserializer(String mediaType, MediaDeserializer mediaDeserializer) {
         this.mediaDeserializers.remove(mediaType, mediaDeserializer);
+        deserializations = new TypeSerDesCache<>();
     }
 
     @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
@@ -86,7 +128,7 @@ public final class DeserializerImpl implements Deserializer {
     public void removeMimeTypeDeserializer(MediaDeserializer mediaDeserializer, Map<String, Object> properties) {
         String[] mediaTypes = PropertyHelper.getProperty(SerDesConstants.MEDIATYPE_PROPERTY, String.class, properties);
         for (String mediaType : mediaTypes) {
-            this.mediaDeserializers.remove(mediaType, mediaDeserializer);
+            removeMimeTypeDeserializer(mediaType, mediaDeserializer);
         }
     }
 }
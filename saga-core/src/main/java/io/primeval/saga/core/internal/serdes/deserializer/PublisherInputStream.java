@@ -0,0 +1,155 @@
+package io.primeval.saga.core.internal.serdes.deserializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.primeval.saga.http.shared.PayloadTooLargeException;
+
+/**
+ * A blocking {@link InputStream} over a {@code Publisher<ByteBuffer>}, for parsers that can only pull. Buffers are
+ * requested a few at a time as the reader consumes them, so that at most {@value #PREFETCH} are held, and the
+ * subscription is cancelled as soon as more than {@code maxSize} bytes are received.
+ */
+public final class PublisherInputStream extends InputStream implements Subscriber<ByteBuffer> {
+
+    private static final int PREFETCH = 16;
+
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final long maxSize;
+    private final BlockingQueue<ByteBuffer> buffers = new ArrayBlockingQueue<>(PREFETCH + 1);
+
+    private volatile Subscription subscription;
+    private volatile Throwable failure;
+
+    // Publisher side
+    private long received;
+    private boolean done;
+
+    // Reader side
+    private ByteBuffer current = ByteBuffer.allocate(0);
+    private int consumed;
+
+    public PublisherInputStream(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        subscription = s;
+        s.request(PREFETCH);
+    }
+
+    @Override
+    public void onNext(ByteBuffer buffer) {
+        if (done) {
+            return;
+        }
+        received += buffer.remaining();
+        if (received > maxSize) {
+            subscription.cancel();
+            onError(new PayloadTooLargeException(maxSize));
+            return;
+        }
+        // The last slot is kept for the end.
+        if (buffers.remainingCapacity() <= 1) {
+            subscription.cancel();
+            failNow(new IllegalStateException("More buffers received than requested"));
+            return;
+        }
+        buffers.offer(buffer);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done) {
+            return;
+        }
+        done = true;
+        failure = t;
+        buffers.offer(END);
+    }
+
+    // The queue is full, so the failure is reported ahead of the buffers.
+    private void failNow(Throwable t) {
+        done = true;
+        failure = t;
+        buffers.clear();
+        buffers.offer(END);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        buffers.offer(END);
+    }
+
+    @Override
+    public int read() throws IOException {
+        ByteBuffer buffer = current();
+        return buffer == END ? -1 : buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = current();
+        if (buffer == END) {
+            return -1;
+        }
+        int n = Math.min(len, buffer.remaining());
+        buffer.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return current.remaining();
+    }
+
+    @Override
+    public void close() {
+        Subscription s = subscription;
+        if (s != null) {
+            s.cancel();
+        }
+        buffers.clear();
+        current = END;
+    }
+
+    private ByteBuffer current() throws IOException {
+        while (current != END && !current.hasRemaining()) {
+            try {
+                current = buffers.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            if (current == END) {
+                Throwable t = failure;
+                if (t instanceof PayloadTooLargeException) {
+                    throw (PayloadTooLargeException) t;
+                } else if (t != null) {
+                    throw new IOException(t);
+                }
+            } else if (++consumed == PREFETCH / 2) {
+                consumed = 0;
+                subscription.request(PREFETCH / 2);
+            }
+        }
+        return current;
+    }
+
+}
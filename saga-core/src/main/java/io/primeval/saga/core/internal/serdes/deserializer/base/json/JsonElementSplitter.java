@@ -0,0 +1,173 @@
+package io.primeval.saga.core.internal.serdes.deserializer.base.json;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.primeval.saga.http.shared.PayloadTooLargeException;
+
+/**
+ * Splits a JSON document, fed one buffer at a time, into the raw bytes of its elements: the values of a top-level
+ * array, or the lines of newline-delimited JSON. Only strings and nesting are tracked, the elements themselves are
+ * left for the JSON deserializer to parse. Not thread-safe: one instance per body.
+ */
+final class JsonElementSplitter {
+
+    enum Format {
+        ARRAY, LINES
+    }
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final Format format;
+    private final long maxElementSize;
+
+    private byte[] element = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    // ARRAY only. depth: 0 before the opening bracket, 1 between elements.
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+    private boolean closed;
+    private boolean afterComma;
+
+    JsonElementSplitter(Format format, long maxElementSize) {
+        this.format = format;
+        this.maxElementSize = maxElementSize;
+    }
+
+    List<byte[]> feed(ByteBuffer buffer) {
+        List<byte[]> elements = null;
+        for (int i = buffer.position(); i < buffer.limit(); i++) {
+            byte[] completed = format == Format.ARRAY ? onArrayByte(buffer.get(i)) : onLineByte(buffer.get(i));
+            if (completed != null) {
+                if (elements == null) {
+                    elements = new ArrayList<>();
+                }
+                elements.add(completed);
+            }
+        }
+        return elements == null ? Collections.emptyList() : elements;
+    }
+
+    List<byte[]> finish() {
+        if (format == Format.ARRAY) {
+            if (depth > 0 && !closed) {
+                throw new IllegalArgumentException("Unterminated JSON array");
+            }
+            return Collections.emptyList();
+        }
+        byte[] last = take();
+        return last == null ? Collections.emptyList() : Collections.singletonList(last);
+    }
+
+    private byte[] onArrayByte(byte b) {
+        if (closed) {
+            if (!isWhitespace(b)) {
+                throw new IllegalArgumentException("Unexpected content after JSON array");
+            }
+            return null;
+        }
+        if (depth == 0) {
+            if (isWhitespace(b)) {
+                return null;
+            }
+            if (b != '[') {
+                throw new IllegalArgumentException("Expected a JSON array");
+            }
+            depth = 1;
+            return null;
+        }
+        if (inString) {
+            append(b);
+            if (escaped) {
+                escaped = false;
+            } else if (b == '\\') {
+                escaped = true;
+            } else if (b == '"') {
+                inString = false;
+            }
+            return null;
+        }
+        switch (b) {
+        case '"':
+            inString = true;
+            break;
+        case '[':
+        case '{':
+            depth++;
+            break;
+        case ']':
+            if (depth == 1) {
+                closed = true;
+                byte[] last = take();
+                if (last == null && afterComma) {
+                    throw new IllegalArgumentException("Missing JSON array element");
+                }
+                return last;
+            }
+            depth--;
+            break;
+        case '}':
+            depth--;
+            break;
+        case ',':
+            if (depth == 1) {
+                byte[] completed = take();
+                if (completed == null) {
+                    throw new IllegalArgumentException("Missing JSON array element");
+                }
+                afterComma = true;
+                return completed;
+            }
+            break;
+        default:
+            if (depth == 1 && size == 0 && isWhitespace(b)) {
+                return null;
+            }
+            break;
+        }
+        append(b);
+        return null;
+    }
+
+    private byte[] onLineByte(byte b) {
+        if (b == '\n') {
+            return take();
+        }
+        append(b);
+        return null;
+    }
+
+    private void append(byte b) {
+        if (size >= maxElementSize) {
+            throw new PayloadTooLargeException(maxElementSize);
+        }
+        if (size == element.length) {
+            element = Arrays.copyOf(element, (int) Math.min(2L * size, Integer.MAX_VALUE - 8));
+        }
+        element[size++] = b;
+    }
+
+    // null if blank
+    private byte[] take() {
+        boolean blank = true;
+        for (int i = 0; i < size && blank; i++) {
+            blank = isWhitespace(element[i]);
+        }
+        byte[] completed = blank ? null : Arrays.copyOf(element, size);
+        size = 0;
+        if (element.length > INITIAL_CAPACITY * 64) {
+            element = new byte[INITIAL_CAPACITY];
+        }
+        return completed;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+}
@@ -1,22 +1,38 @@
 package io.primeval.saga.core.internal.serdes.deserializer.base.json;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.util.promise.Deferred;
 import org.osgi.util.promise.Promise;
 import org.osgi.util.promise.Promises;
 import org.reactivestreams.Publisher;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import io.primeval.codex.promise.PromiseHelper;
 import io.primeval.common.bytebuffer.ByteBufferListInputStream;
+import io.primeval.common.serdes.DeserializationException;
 import io.primeval.common.type.GenericBoxes;
 import io.primeval.common.type.TypeTag;
 import io.primeval.json.JsonDeserializer;
+import io.primeval.saga.core.internal.serdes.deserializer.PublisherInputStream;
+import io.primeval.saga.core.internal.serdes.deserializer.base.json.JsonElementSplitter.Format;
 import io.primeval.saga.http.shared.Payload;
+import io.primeval.saga.http.shared.PayloadTooLargeException;
 import io.primeval.saga.renderer.MimeTypes;
 import io.primeval.saga.serdes.SupportsMediaTypes;
 import io.primeval.saga.serdes.deserializer.spi.MediaDeserializer;
@@ -24,12 +40,19 @@ import io.primeval.saga.serdes.deserializer.spi.TypeDeserializer;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-@Component
-@SupportsMediaTypes(MimeTypes.JSON)
+@Component(configurationPid = "saga.json.deserializer")
+@SupportsMediaTypes({ MimeTypes.JSON, MimeTypes.NDJSON })
 public final class JsonReactiveDeserializer implements MediaDeserializer {
 
     private JsonDeserializer jsonDeserializer;
 
+    // Streaming parses block while waiting for data, so they get their own threads instead of the dispatcher's.
+    private /* nullable */ ExecutorService parsers;
+
+    private long maxBodySize = JsonReactiveDeserializerConfig.DEFAULT_MAX_BODY_SIZE;
+
+    private long streamingThreshold = JsonReactiveDeserializerConfig.NO_STREAMING;
+
     final class JsonAnyTypeDeserializer<T> implements TypeDeserializer<T> {
 
         private final TypeTag<? extends T> typeTag;
@@ -43,27 +66,87 @@ public final class JsonReactiveDeserializer implements MediaDeserializer {
         @SuppressWarnings("unchecked")
         @Override
         public Promise<T> deserialize(Payload payload, String mimeType, Map<String, String> options) {
-            Publisher<ByteBuffer> buffer = payload.content;
             Class<? extends T> destType = typeTag.rawType();
 
             // Move those to other bundles for class-space resolution?
             if (Mono.class.isAssignableFrom(destType)) {
-                Mono<List<ByteBuffer>> mono = Flux.from(buffer).collectList();
-
                 TypeTag<Object> monoType = GenericBoxes.typeParameter(typeTag);
 
-                Mono<Object> res = mono.map(l -> fromJson(l, monoType, classLoader));
+                Mono<Object> res = Mono.defer(() -> PromiseHelper.toMono(parse(payload, monoType)));
 
                 return Promises.resolved((T) res);
 
             } else if (Publisher.class.isAssignableFrom(destType)) {
-                throw new UnsupportedOperationException("Publisher deserialization not supported yet");
+                TypeTag<Object> elementType = GenericBoxes.typeParameter(typeTag);
+
+                Format format = MimeTypes.NDJSON.equals(mimeType) ? Format.LINES : Format.ARRAY;
+
+                return Promises.resolved((T) elements(payload, elementType, format));
+            }
+
+            return (Promise<T>) parse(payload, typeTag);
+        }
+
+        // Elements are parsed one by one as the body arrives, at the pace they are requested.
+        <U> Flux<U> elements(Payload payload, TypeTag<U> elementType, Format format) {
+            return Flux.defer(() -> {
+                JsonElementSplitter splitter = new JsonElementSplitter(format, maxBodySize);
+                return Flux.from(payload.content).flatMapIterable(splitter::feed)
+                        .concatWith(Flux.defer(() -> Flux.fromIterable(splitter.finish())))
+                        .map(element -> {
+                            U value = jsonDeserializer.fromJson(new ByteArrayInputStream(element), elementType,
+                                    classLoader);
+                            if (value == null) {
+                                throw new DeserializationException(elementType, "Null element in array of");
+                            }
+                            return value;
+                        });
+            });
+        }
+
+        <U> Promise<U> parse(Payload payload, TypeTag<U> toType) {
+            OptionalLong contentLength = payload.contentLength;
+            if (contentLength.isPresent() && contentLength.getAsLong() > maxBodySize) {
+                return Promises.failed(new PayloadTooLargeException(maxBodySize));
+            }
+
+            if (streamingThreshold != JsonReactiveDeserializerConfig.NO_STREAMING
+                    && (!contentLength.isPresent() || contentLength.getAsLong() > streamingThreshold)) {
+                return streamingParse(payload, toType);
             }
 
-            Mono<List<ByteBuffer>> mono = Flux.from(buffer).collectList();
-            Mono<T> res = mono.map(l -> fromJson(l, typeTag, classLoader));
+            Mono<List<ByteBuffer>> mono = Flux.from(limited(payload.content)).collectList();
+            return PromiseHelper.fromMono(mono.map(l -> fromJson(l, toType, classLoader)));
+        }
 
-            return PromiseHelper.fromMono(res);
+        // Parses waiting for a thread have not subscribed yet, so they hold no buffers.
+        <U> Promise<U> streamingParse(Payload payload, TypeTag<U> toType) {
+            Deferred<U> deferred = new Deferred<>();
+            try {
+                parsers.execute(() -> {
+                    PublisherInputStream inputStream = new PublisherInputStream(maxBodySize);
+                    payload.content.subscribe(inputStream);
+                    try {
+                        deferred.resolve(fromJson(inputStream, toType, classLoader));
+                    } catch (Throwable t) {
+                        deferred.fail(t);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                deferred.fail(e);
+            }
+            return deferred.getPromise();
+        }
+
+        <U> U fromJson(InputStream fromStream, TypeTag<U> toType, ClassLoader classLoader) throws IOException {
+            try (PushbackInputStream inputStream = new PushbackInputStream(fromStream)) {
+                int first = inputStream.read();
+                if (first == -1) {
+                    return null;
+                }
+                inputStream.unread(first);
+                return jsonDeserializer.fromJson(inputStream, toType, classLoader);
+            }
         }
 
         <U> U fromJson(List<ByteBuffer> fromBuffers, TypeTag<U> toType, ClassLoader classLoader) {
@@ -77,6 +160,36 @@ public final class JsonReactiveDeserializer implements MediaDeserializer {
         }
     }
 
+    @Activate
+    public void activate(JsonReactiveDeserializerConfig config) {
+        maxBodySize = config.max_body_size();
+        streamingThreshold = config.streaming_threshold();
+        if (streamingThreshold != JsonReactiveDeserializerConfig.NO_STREAMING) {
+            parsers = Executors.newFixedThreadPool(Math.max(1, config.streaming_parsers()),
+                    new ThreadFactoryBuilder().setNameFormat("saga-json-parser-%d").setDaemon(true).build());
+        }
+    }
+
+    @Deactivate
+    public void deactivate() {
+        if (parsers != null) {
+            parsers.shutdownNow();
+        }
+    }
+
+    private Flux<ByteBuffer> limited(Publisher<ByteBuffer> content) {
+        return Flux.defer(() -> {
+            long[] received = new long[1];
+            return Flux.from(content).map(buffer -> {
+                received[0] += buffer.remaining();
+                if (received[0] > maxBodySize) {
+                    throw new PayloadTooLargeException(maxBodySize);
+                }
+                return buffer;
+            });
+        });
+    }
+
     @Override
     public <T> Promise<TypeDeserializer<T>> typeDeserializer(TypeTag<? extends T> typeTag, ClassLoader classLoader) {
         return Promises.resolved(new JsonAnyTypeDeserializer<>(typeTag, classLoader));
@@ -0,0 +1,26 @@
+package io.primeval.saga.core.internal.serdes.deserializer.base.json;
+
+public @interface JsonReactiveDeserializerConfig {
+
+    long DEFAULT_MAX_BODY_SIZE = 64 * 1024 * 1024;
+
+    long NO_STREAMING = -1;
+
+    /**
+     * Bodies longer than this fail with a {@code PayloadTooLargeException}, without being read further. Bodies read
+     * as a {@code Publisher} have no overall limit, it applies to each of their elements.
+     */
+    long max_body_size() default DEFAULT_MAX_BODY_SIZE;
+
+    /**
+     * Bodies longer than this, or of unknown length, are parsed on a parser thread while they are received instead of
+     * being buffered first. Disabled by default.
+     */
+    long streaming_threshold() default NO_STREAMING;
+
+    /**
+     * Threads parsing streamed bodies, which wait for data; further streamed bodies wait for one of them.
+     */
+    int streaming_parsers() default 4;
+
+}
@@ -0,0 +1,118 @@
+package io.primeval.saga.core.internal.serdes.deserializer.base.text;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.OptionalLong;
+
+/**
+ * Decodes a sequence of buffers into a String as they arrive, without copying them into an intermediate stream. A
+ * payload made of a single heap buffer is decoded in one go.
+ */
+final class StringDecoder {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    // The content length comes from the client: it only sizes the first buffer up to this, which then grows.
+    private static final int MAX_INITIAL_CAPACITY = 64 * 1024;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    private static final int MAX_BYTES_PER_CHAR = 16;
+
+    private final Charset charset;
+    private final OptionalLong contentLength;
+
+    private /* nullable */ ByteBuffer first; // not decoded yet, in case it is the only one
+    private /* nullable */ CharsetDecoder decoder;
+    private /* nullable */ CharBuffer out;
+    private /* nullable */ ByteBuffer carry; // bytes of a character split across buffers
+
+    StringDecoder(Charset charset, OptionalLong contentLength) {
+        this.charset = charset;
+        this.contentLength = contentLength;
+    }
+
+    void feed(ByteBuffer buffer) {
+        if (!buffer.hasRemaining()) {
+            return;
+        }
+        if (decoder == null) {
+            if (first == null) {
+                first = buffer;
+                return;
+            }
+            startDecoding();
+            ByteBuffer pending = first;
+            first = null;
+            decodeBuffer(pending);
+        }
+        decodeBuffer(buffer);
+    }
+
+    String finish() {
+        if (decoder == null) {
+            if (first == null) {
+                return "";
+            } else if (first.hasArray()) {
+                return new String(first.array(), first.arrayOffset() + first.position(), first.remaining(), charset);
+            }
+            startDecoding();
+            decodeBuffer(first);
+            first = null;
+        }
+        if (carry != null) {
+            carry.flip();
+            decode(carry, true);
+        } else {
+            decode(ByteBuffer.allocate(0), true);
+        }
+        while (decoder.flush(out).isOverflow()) {
+            grow();
+        }
+        out.flip();
+        return out.toString();
+    }
+
+    private void startDecoding() {
+        decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        long capacity = contentLength.isPresent()
+                ? (long) Math.ceil(contentLength.getAsLong() * (double) decoder.maxCharsPerByte())
+                : DEFAULT_CAPACITY;
+        out = CharBuffer.allocate((int) Math.min(Math.max(capacity, 16), MAX_INITIAL_CAPACITY));
+    }
+
+    private void decodeBuffer(ByteBuffer buffer) {
+        ByteBuffer in = buffer.duplicate();
+        while (carry != null && carry.position() > 0 && in.hasRemaining()) {
+            carry.put(in.get());
+            carry.flip();
+            decode(carry, false);
+            carry.compact();
+        }
+        decode(in, false);
+        if (in.hasRemaining()) {
+            if (carry == null) {
+                carry = ByteBuffer.allocate(MAX_BYTES_PER_CHAR);
+            }
+            carry.put(in);
+        }
+    }
+
+    private void decode(ByteBuffer in, boolean endOfInput) {
+        while (decoder.decode(in, out, endOfInput).isOverflow()) {
+            grow();
+        }
+    }
+
+    private void grow() {
+        if (out.capacity() == MAX_CAPACITY) {
+            throw new OutOfMemoryError("Decoded text is too large");
+        }
+        CharBuffer larger = CharBuffer.allocate((int) Math.min(out.capacity() * 2L, MAX_CAPACITY));
+        out.flip();
+        larger.put(out);
+        out = larger;
+    }
+
+}
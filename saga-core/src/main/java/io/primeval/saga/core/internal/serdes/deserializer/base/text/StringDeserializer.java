@@ -1,18 +1,13 @@
 package io.primeval.saga.core.internal.serdes.deserializer.base.text;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.ByteBuffer;
-import java.util.List;
+import java.nio.charset.Charset;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.OptionalLong;
 
 import org.osgi.util.promise.Promise;
-import org.reactivestreams.Publisher;
+import org.osgi.util.promise.Promises;
 
 import io.primeval.codex.promise.PromiseHelper;
-import io.primeval.common.bytebuffer.ByteBufferListInputStream;
 import io.primeval.common.serdes.DeserializationException;
 import io.primeval.common.type.TypeTag;
 import io.primeval.saga.http.shared.Payload;
@@ -26,20 +21,21 @@ public final class StringDeserializer implements TypeDeserializer<String> {
     public Promise<String> deserialize(Payload payload, String mimeType, Map<String, String> options) {
 
         String charset = options.getOrDefault("charset", "utf-8");
-        return deserializeString(payload.content, mimeType, charset);
+        return deserializeString(payload, mimeType, charset);
     }
 
-    private Promise<String> deserializeString(Publisher<ByteBuffer> buffer, String mimeType, String charset) {
-        // new ByteBufferListInputStream(
-        Mono<List<ByteBuffer>> buffersM = Flux.from(buffer).collectList();
-
-        return PromiseHelper.fromMono(buffersM).map(buffers -> {
-            ByteBufferListInputStream bufferListInputStream = new ByteBufferListInputStream(buffers);
-            try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(bufferListInputStream, charset))) {
-                return bufferedReader.lines().collect(Collectors.joining("\n"));
-            } catch (IOException e) {
-                throw new DeserializationException(TypeTag.of(String.class), mimeType, e);
-            }
-        });
+    private Promise<String> deserializeString(Payload payload, String mimeType, String charsetName) {
+        Charset charset;
+        try {
+            charset = Charset.forName(charsetName);
+        } catch (IllegalArgumentException e) {
+            return Promises.failed(new DeserializationException(TypeTag.of(String.class), mimeType, e));
+        }
+        OptionalLong contentLength = payload.contentLength;
+        Mono<String> textM = Flux.from(payload.content)
+                .collect(() -> new StringDecoder(charset, contentLength), StringDecoder::feed)
+                .map(StringDecoder::finish);
+
+        return PromiseHelper.fromMono(textM);
     }
 }
@@ -1,18 +1,30 @@
 package io.primeval.saga.core.internal.serdes.serializer;
 
+import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.BundleListener;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.util.promise.Promise;
+import org.osgi.util.promise.Promises;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.CharMatcher;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableSet;
 
 import io.primeval.codex.promise.PromiseCollector;
@@ -20,6 +32,8 @@ import io.primeval.codex.promise.PromiseHelper;
 import io.primeval.common.property.PropertyHelper;
 import io.primeval.common.serdes.SerializationException;
 import io.primeval.common.type.TypeTag;
+import io.primeval.saga.core.internal.serdes.TypeSerDesCache;
+import io.primeval.saga.core.internal.http.shared.MimeParse;
 import io.primeval.saga.http.shared.Payload;
 import io.primeval.saga.serdes.deserializer.SerDesConstants;
 import io.primeval.saga.serdes.serializer.Serializer;
@@ -30,8 +44,36 @@ import io.primeval.saga.serdes.serializer.spi.TypeSerializer;
 public final class SerializerImpl implements Serializer {
     private static final Logger LOGGER = LoggerFactory.getLogger(SerializerImpl.class);
 
+    private static final int NEGOTIATION_CACHE_SIZE = 1024;
+
     private final Map<String, MediaSerializer> mediaSerializers = new ConcurrentHashMap<>();
 
+    // Caches are replaced, rather than cleared, when media serializers change: in-flight lookups land in the stale one.
+    private volatile Cache<NegotiationKey, Promise<String>> negotiations = newNegotiationCache();
+    private final LongAdder negotiationHits = new LongAdder();
+    private final LongAdder negotiationMisses = new LongAdder();
+
+    private volatile TypeSerDesCache<TypeSerializer<?>> serializations = new TypeSerDesCache<>();
+
+    // Cached serializers hold on to the class loaders of their types; a refreshed bundle must not keep its old one.
+    private final BundleListener bundleListener = this::bundleChanged;
+
+    @Activate
+    public void activate(BundleContext bundleContext) {
+        bundleContext.addBundleListener(bundleListener);
+    }
+
+    @Deactivate
+    public void deactivate(BundleContext bundleContext) {
+        bundleContext.removeBundleListener(bundleListener);
+    }
+
+    void bundleChanged(BundleEvent event) {
+        if (event.getType() == BundleEvent.UNRESOLVED) {
+            flushCaches();
+        }
+    }
+
     @Override
     public <T> Promise<Payload> serialize(T object, TypeTag<? extends T> typeTag, String mediaType, Map<String, String> options) {
         Promise<TypeSerializer<T>> serialization = serialization(typeTag, mediaType);
@@ -43,8 +85,15 @@ public final class SerializerImpl implements Serializer {
         return serialization(typeTag, mediaType).map(x -> true).recover(x -> false);
     }
 
+    @SuppressWarnings({ "unchecked", "rawtypes" })
     public <T> Promise<TypeSerializer<T>> serialization(TypeTag<? extends T> typeTag, String mediaType) {
-        return PromiseHelper.wrapPromise(e -> new SerializationException(typeTag, mediaType, e),
+        TypeSerDesCache<TypeSerializer<?>> cache = serializations;
+        Promise cached = cache.get(mediaType, typeTag, typeTag.getClassLoader());
+        if (cached != null) {
+            return cached;
+        }
+        Promise<TypeSerializer<T>> serialization = PromiseHelper.wrapPromise(
+                e -> new SerializationException(typeTag, mediaType, e),
                 () -> {
                     MediaSerializer mediaSerializer = mediaSerializers.get(mediaType);
                     if (mediaSerializer == null) {
@@ -52,16 +101,46 @@ public final class SerializerImpl implements Serializer {
                     }
                     return mediaSerializer.typeSerializer(typeTag);
                 });
+        return serialization.map(ser -> {
+            cache.put(mediaType, typeTag, typeTag.getClassLoader(), Promises.resolved(ser));
+            return ser;
+        });
     }
 
     @Override
     public Promise<Set<String>> serializableMediaTypes(TypeTag<?> typeTag) {
-        return mediaSerializers.entrySet().stream()
-                .map(mtd -> mtd.getValue().typeSerializer(typeTag)
-                        .map(x -> mtd.getKey()))
+        return mediaSerializers.keySet().stream()
+                .map(mediaType -> serialization(typeTag, mediaType)
+                        .map(x -> mediaType))
                 .collect(PromiseCollector.allSuccessful()).map(ImmutableSet::copyOf);
     }
 
+    @Override
+    public Promise<String> negotiateMediaType(TypeTag<?> typeTag, String accept) {
+        NegotiationKey key = new NegotiationKey(typeTag, CharMatcher.whitespace().removeFrom(accept)
+                .toLowerCase(Locale.ROOT));
+        Cache<NegotiationKey, Promise<String>> cache = negotiations;
+        Promise<String> mediaType = cache.getIfPresent(key);
+        if (mediaType != null) {
+            negotiationHits.increment();
+            return mediaType;
+        }
+        negotiationMisses.increment();
+        return serializableMediaTypes(typeTag).map(supportedMediaTypes -> {
+            String bestMatch = MimeParse.bestMatch(supportedMediaTypes, key.accept);
+            cache.put(key, Promises.resolved(bestMatch));
+            return bestMatch;
+        });
+    }
+
+    public long negotiationCacheHits() {
+        return negotiationHits.sum();
+    }
+
+    public long negotiationCacheMisses() {
+        return negotiationMisses.sum();
+    }
+
     @Override
     public Promise<Set<String>> serializableMediaTypes() {
         return PromiseHelper.wrap(() -> ImmutableSet.copyOf(mediaSerializers.keySet()));
@@ -69,10 +148,12 @@ public final class SerializerImpl implements Serializer {
 
     public void addMimeTypeSerializer(String mimeType, MediaSerializer mimeTypeSerializer) {
         this.mediaSerializers.put(mimeType, mimeTypeSerializer);
+        flushCaches();
     }
 
     public void removeMimeTypeSerializer(String mimeType, MediaSerializer mimeTypeSerializer) {
         this.mediaSerializers.remove(mimeType, mimeTypeSerializer);
+        flushCaches();
     }
 
     @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
@@ -86,7 +167,42 @@ public final class SerializerImpl implements Serializer {
     public void removeMimeTypeSerializer(MediaSerializer mimeTypeSerializer, Map<String, Object> properties) {
         String[] mimeTypes = PropertyHelper.getProperty(SerDesConstants.MEDIATYPE_PROPERTY, String.class, properties);
         for (String mimeType : mimeTypes) {
-            this.mediaSerializers.remove(mimeType, mimeTypeSerializer);
+            removeMimeTypeSerializer(mimeType, mimeTypeSerializer);
+        }
+    }
+
+    private void flushCaches() {
+        serializations = new TypeSerDesCache<>();
+        negotiations = newNegotiationCache();
+    }
+
+    private static Cache<NegotiationKey, Promise<String>> newNegotiationCache() {
+        return CacheBuilder.newBuilder().maximumSize(NEGOTIATION_CACHE_SIZE).build();
+    }
+
+    private static final class NegotiationKey {
+
+        private final TypeTag<?> typeTag;
+        private final String accept;
+
+        NegotiationKey(TypeTag<?> typeTag, String accept) {
+            this.typeTag = typeTag;
+            this.accept = accept;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * typeTag.hashCode() + accept.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (obj == null || getClass() != obj.getClass())
+                return false;
+            NegotiationKey other = (NegotiationKey) obj;
+            return Objects.equals(typeTag, other.typeTag) && Objects.equals(accept, other.accept);
         }
     }
 }
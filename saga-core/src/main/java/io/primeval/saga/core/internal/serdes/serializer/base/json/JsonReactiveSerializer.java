@@ -1,14 +1,18 @@
 package io.primeval.saga.core.internal.serdes.serializer.base.json;
 
 import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.util.promise.Promise;
 import org.osgi.util.promise.Promises;
+import org.reactivestreams.Publisher;
 
 import io.primeval.codex.promise.PromiseHelper;
+import io.primeval.common.type.GenericBoxes;
 import io.primeval.common.type.TypeTag;
 import io.primeval.json.JsonSerializer;
 import io.primeval.saga.http.shared.Payload;
@@ -16,12 +20,19 @@ import io.primeval.saga.renderer.MimeTypes;
 import io.primeval.saga.serdes.SupportsMediaTypes;
 import io.primeval.saga.serdes.serializer.spi.MediaSerializer;
 import io.primeval.saga.serdes.serializer.spi.TypeSerializer;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Component
-@SupportsMediaTypes(MimeTypes.JSON)
+@SupportsMediaTypes({ MimeTypes.JSON, MimeTypes.NDJSON })
 public final class JsonReactiveSerializer implements MediaSerializer {
 
+    // Smaller collections are written at once as arrays, with a known length; as lines, there is one per element.
+    private static final int STREAMING_MIN_ELEMENTS = 256;
+
+    private static final byte[] ARRAY_START = { '[' };
+    private static final byte[] ARRAY_END = { ']' };
+
     private JsonSerializer jsonSerializer;
 
     final class JsonAnyTypeSerializer<T> implements TypeSerializer<T> {
@@ -35,11 +46,69 @@ public final class JsonReactiveSerializer implements MediaSerializer {
         @Override
         public Promise<Payload> serialize(T object, String mediaType, Map<String, String> options) {
             return PromiseHelper.wrap(() -> {
-                byte[] b = jsonSerializer.toByteArray(object, typeTag);
+                boolean lines = MimeTypes.NDJSON.equals(mediaType);
+                Class<? extends T> rawType = typeTag.rawType();
+
+                if (object instanceof Mono) {
+                    return Payload.stream(((Mono<?>) object)
+                            .map(element -> ByteBuffer.wrap(element(element, elementType(), false, lines))));
+                } else if (object instanceof Publisher) {
+                    return Payload.stream(elements(Flux.from((Publisher<?>) object), lines));
+                } else if (object instanceof Stream) {
+                    return Payload.stream(elements(Flux.fromStream((Stream<?>) object), lines));
+                } else if ((Collection.class.isAssignableFrom(rawType) || rawType == Iterable.class)
+                        && (lines ? object instanceof Iterable : object instanceof Collection
+                                && ((Collection<?>) object).size() >= STREAMING_MIN_ELEMENTS)) {
+                    return Payload.stream(elements(Flux.fromIterable((Iterable<?>) object), lines));
+                }
+
+                byte[] b = lines ? element(object, typeTag, false, true) : jsonSerializer.toByteArray(object, typeTag);
                 return Payload.ofLength(b.length, Mono.just(ByteBuffer.wrap(b)));
             });
         }
 
+        // Written as they come, one buffer per element, at the pace of the content sender's demand.
+        private Flux<ByteBuffer> elements(Flux<?> elements, boolean lines) {
+            TypeTag<?> elementType = elementType();
+            Flux<ByteBuffer> body = Flux.defer(() -> {
+                boolean[] first = { true };
+                return elements.map(element -> {
+                    ByteBuffer buffer = ByteBuffer.wrap(element(element, elementType, !lines && !first[0], lines));
+                    first[0] = false;
+                    return buffer;
+                });
+            });
+            if (lines) {
+                return body;
+            }
+            return Flux.concat(Mono.fromCallable(() -> ByteBuffer.wrap(ARRAY_START)), body,
+                    Mono.fromCallable(() -> ByteBuffer.wrap(ARRAY_END)));
+        }
+
+        private byte[] element(Object element, TypeTag<?> elementType, boolean comma, boolean newLine) {
+            byte[] json = jsonSerializer.toByteArray(element, elementType);
+            if (!comma && !newLine) {
+                return json;
+            }
+            byte[] b = new byte[json.length + 1];
+            if (comma) {
+                b[0] = ',';
+                System.arraycopy(json, 0, b, 1, json.length);
+            } else {
+                System.arraycopy(json, 0, b, 0, json.length);
+                b[json.length] = '\n';
+            }
+            return b;
+        }
+
+        private TypeTag<?> elementType() {
+            try {
+                return GenericBoxes.typeParameter(typeTag);
+            } catch (RuntimeException e) {
+                return TypeTag.of(Object.class); // raw type, rely on runtime classes.
+            }
+        }
+
     }
 
     @Override
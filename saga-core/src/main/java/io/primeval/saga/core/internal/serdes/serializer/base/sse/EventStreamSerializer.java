@@ -0,0 +1,171 @@
+package io.primeval.saga.core.internal.serdes.serializer.base.sse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.util.promise.Promise;
+import org.osgi.util.promise.Promises;
+import org.reactivestreams.Publisher;
+
+import io.primeval.codex.promise.PromiseHelper;
+import io.primeval.common.serdes.SerializationException;
+import io.primeval.common.type.GenericBoxes;
+import io.primeval.common.type.TypeTag;
+import io.primeval.saga.http.shared.ByteBufferPool;
+import io.primeval.saga.http.shared.Payload;
+import io.primeval.saga.renderer.MimeTypes;
+import io.primeval.saga.serdes.SupportsMediaTypes;
+import io.primeval.saga.serdes.serializer.Serializer;
+import io.primeval.saga.serdes.serializer.spi.MediaSerializer;
+import io.primeval.saga.serdes.serializer.spi.TypeSerializer;
+import io.primeval.saga.sse.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes a {@code Publisher} or {@code Stream} as Server-Sent Events, one chunk per event, pulled from the source at
+ * the pace of the content sender's demand.
+ */
+@Component(configurationPid = "saga.sse")
+@SupportsMediaTypes(MimeTypes.EVENT_STREAM)
+public final class EventStreamSerializer implements MediaSerializer {
+
+    private static final byte[] HEARTBEAT = ": heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final ByteBuffer END = ByteBuffer.allocate(0); // compared by identity
+
+    private Serializer serializer;
+    private long heartbeatIntervalMillis = EventStreamSerializerConfig.DEFAULT_HEARTBEAT_INTERVAL_MS;
+
+    final class EventStreamTypeSerializer<T> implements TypeSerializer<T> {
+
+        private final TypeTag<?> dataType;
+
+        EventStreamTypeSerializer(TypeTag<?> dataType) {
+            this.dataType = dataType;
+        }
+
+        @Override
+        public Promise<Payload> serialize(T object, String mediaType, Map<String, String> options) {
+            return PromiseHelper.wrap(() -> {
+                Flux<?> elements = object instanceof Stream ? Flux.fromStream((Stream<?>) object)
+                        : Flux.from((Publisher<?>) object);
+                return Payload.stream(withHeartbeats(elements.concatMap(this::event)));
+            });
+        }
+
+        private Mono<ByteBuffer> event(Object element) {
+            ServerSentEvent<?> event = element instanceof ServerSentEvent ? (ServerSentEvent<?>) element
+                    : ServerSentEvent.of(element);
+            return PromiseHelper.toMono(data(event.data)).map(data -> ByteBuffer.wrap(frame(event, data)));
+        }
+
+        private Promise<byte[]> data(Object data) {
+            if (data == null) {
+                return Promises.resolved(new byte[0]);
+            } else if (data instanceof String) {
+                return Promises.resolved(((String) data).getBytes(StandardCharsets.UTF_8));
+            }
+            return serializer.serialize(data, dataType, MimeTypes.JSON, Collections.emptyMap())
+                    .flatMap(EventStreamSerializer::toByteArray);
+        }
+
+    }
+
+    @Override
+    public <T> Promise<TypeSerializer<T>> typeSerializer(TypeTag<? extends T> typeTag) {
+        return PromiseHelper.wrap(() -> {
+            Class<?> rawType = typeTag.rawType();
+            if (!Publisher.class.isAssignableFrom(rawType) && !Stream.class.isAssignableFrom(rawType)) {
+                throw new SerializationException(typeTag, MimeTypes.EVENT_STREAM);
+            }
+            TypeTag<?> dataType = typeParameter(typeTag);
+            if (dataType.rawType() == ServerSentEvent.class) {
+                dataType = typeParameter(dataType);
+            }
+            return new EventStreamTypeSerializer<>(dataType);
+        });
+    }
+
+    private Flux<ByteBuffer> withHeartbeats(Flux<ByteBuffer> events) {
+        if (heartbeatIntervalMillis <= 0) {
+            return events;
+        }
+        Flux<ByteBuffer> heartbeats = Flux.interval(Duration.ofMillis(heartbeatIntervalMillis)).onBackpressureDrop()
+                .map(tick -> ByteBuffer.wrap(HEARTBEAT));
+        // Heartbeats never complete, stop them with the events.
+        return Flux.merge(1, events.concatWith(Mono.just(END)), heartbeats).takeWhile(buffer -> buffer != END);
+    }
+
+    static byte[] frame(ServerSentEvent<?> event, byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length + 32);
+        if (event.id != null) {
+            byte[] id = event.id.getBytes(StandardCharsets.UTF_8);
+            field(out, "id: ", id, 0, id.length);
+        }
+        if (event.event != null) {
+            byte[] name = event.event.getBytes(StandardCharsets.UTF_8);
+            field(out, "event: ", name, 0, name.length);
+        }
+        // Each line of data is a field of its own, CR, LF and CRLF all end a line.
+        int start = 0;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] == '\r' || data[i] == '\n') {
+                field(out, "data: ", data, start, i);
+                if (data[i] == '\r' && i + 1 < data.length && data[i + 1] == '\n') {
+                    i++;
+                }
+                start = i + 1;
+            }
+        }
+        field(out, "data: ", data, start, data.length);
+        out.write('\n');
+        return out.toByteArray();
+    }
+
+    private static void field(ByteArrayOutputStream out, String name, byte[] value, int from, int to) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.US_ASCII);
+        out.write(nameBytes, 0, nameBytes.length);
+        out.write(value, from, to - from);
+        out.write('\n');
+    }
+
+    private static Promise<byte[]> toByteArray(Payload payload) {
+        ByteBufferPool bufferPool = payload.bufferPool;
+        Mono<byte[]> bytes = Flux.from(payload.content).collect(ByteArrayOutputStream::new, (out, buffer) -> {
+            byte[] b = new byte[buffer.remaining()];
+            buffer.duplicate().get(b);
+            out.write(b, 0, b.length);
+            if (bufferPool != null) {
+                bufferPool.release(buffer);
+            }
+        }).map(ByteArrayOutputStream::toByteArray);
+        return PromiseHelper.fromMono(bytes);
+    }
+
+    private static TypeTag<?> typeParameter(TypeTag<?> typeTag) {
+        try {
+            return GenericBoxes.typeParameter(typeTag);
+        } catch (RuntimeException e) {
+            return TypeTag.of(Object.class); // raw type, rely on runtime classes.
+        }
+    }
+
+    @Activate
+    public void activate(EventStreamSerializerConfig config) {
+        heartbeatIntervalMillis = config.heartbeat_interval_ms();
+    }
+
+    @Reference
+    public void setSerializer(Serializer serializer) {
+        this.serializer = serializer;
+    }
+
+}
@@ -0,0 +1,12 @@
+package io.primeval.saga.core.internal.serdes.serializer.base.sse;
+
+public @interface EventStreamSerializerConfig {
+
+    long DEFAULT_HEARTBEAT_INTERVAL_MS = 15_000;
+
+    /**
+     * Interval of the comments sent to keep idle event streams open through proxies, 0 to disable.
+     */
+    long heartbeat_interval_ms() default DEFAULT_HEARTBEAT_INTERVAL_MS;
+
+}
@@ -1,17 +1,32 @@
 package io.primeval.saga.core.internal.serdes.serializer.base.text;
 
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.util.Map;
 
 import org.osgi.util.promise.Promise;
 
 import io.primeval.codex.promise.PromiseHelper;
+import io.primeval.saga.http.shared.ByteBufferPool;
 import io.primeval.saga.http.shared.Payload;
 import io.primeval.saga.serdes.serializer.spi.TypeSerializer;
 import reactor.core.publisher.Mono;
 
 public final class ObjectToTextSerializer implements TypeSerializer<Object> {
 
+    private final /* nullable */ ByteBufferPool bufferPool;
+
+    public ObjectToTextSerializer() {
+        this(null);
+    }
+
+    public ObjectToTextSerializer(ByteBufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+    }
+
     @Override
     public Promise<Payload> serialize(Object object, String mimeType, Map<String, String> options) {
 
@@ -21,8 +36,21 @@ public final class ObjectToTextSerializer implements TypeSerializer<Object> {
 
     private Promise<Payload> serializeString(String object, String charset) {
         return PromiseHelper.wrap(() -> {
+            if (bufferPool != null) {
+                return encodeInPooledBuffer(object, Charset.forName(charset));
+            }
             byte[] b = object.toString().getBytes(charset);
             return Payload.ofLength(b.length, Mono.just(ByteBuffer.wrap(b)));
         });
     }
+
+    private Payload encodeInPooledBuffer(String object, Charset charset) {
+        CharsetEncoder encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer buffer = bufferPool.acquire((int) Math.ceil(encoder.maxBytesPerChar() * object.length()));
+        encoder.encode(CharBuffer.wrap(object), buffer, true);
+        encoder.flush(buffer);
+        buffer.flip();
+        return Payload.ofLength(buffer.remaining(), Mono.just(buffer), bufferPool);
+    }
 }
@@ -1,10 +1,12 @@
 package io.primeval.saga.core.internal.serdes.serializer.base.text;
 
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 import org.osgi.util.promise.Promise;
 import org.osgi.util.promise.Promises;
 
 import io.primeval.common.type.TypeTag;
+import io.primeval.saga.http.shared.ByteBufferPool;
 import io.primeval.saga.renderer.MimeTypes;
 import io.primeval.saga.serdes.SupportsMediaTypes;
 import io.primeval.saga.serdes.serializer.spi.MediaSerializer;
@@ -14,13 +16,18 @@ import io.primeval.saga.serdes.serializer.spi.TypeSerializer;
 @SupportsMediaTypes(MimeTypes.TEXT)
 public final class TextSerializer implements MediaSerializer {
 
-    private static final Promise<TypeSerializer<?>> SERIALIZER = Promises.resolved(new ObjectToTextSerializer());
+    private Promise<TypeSerializer<?>> serializer = Promises.resolved(new ObjectToTextSerializer());
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> Promise<TypeSerializer<T>> typeSerializer(TypeTag<? extends T> typeTag) {
-        return (Promise) SERIALIZER;
+        return (Promise) serializer;
 
     }
 
+    @Reference
+    public void setByteBufferPool(ByteBufferPool bufferPool) {
+        this.serializer = Promises.resolved(new ObjectToTextSerializer(bufferPool));
+    }
+
 }
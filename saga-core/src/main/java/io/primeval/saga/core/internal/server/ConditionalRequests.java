@@ -0,0 +1,113 @@
+package io.primeval.saga.core.internal.server;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import org.osgi.util.promise.Promise;
+import org.osgi.util.promise.Promises;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Multimaps;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+
+import io.primeval.saga.http.protocol.HeaderNames;
+import io.primeval.saga.http.protocol.HttpMethod;
+import io.primeval.saga.http.protocol.HttpRequest;
+import io.primeval.saga.http.protocol.HttpUtils;
+import io.primeval.saga.http.protocol.Status;
+import io.primeval.saga.http.shared.Payload;
+import reactor.core.publisher.Mono;
+
+/**
+ * Answers {@code If-None-Match} requests with {@code 304 Not Modified}. Results may carry their own {@code ETag},
+ * checked before serialization; otherwise a strong one is computed over serialized payloads of at most
+ * {@code maxSize} bytes. The {@code 304} carries the validators of the response it stands for, compressed or not.
+ */
+public final class ConditionalRequests {
+
+    public static final ConditionalRequests DISABLED = new ConditionalRequests(HttpServerConfig.NO_ETAGS,
+            ResponseCompression.DISABLED);
+
+    private final long maxSize;
+    private final ResponseCompression compression;
+
+    public ConditionalRequests(long maxSize, ResponseCompression compression) {
+        this.maxSize = maxSize;
+        this.compression = compression;
+    }
+
+    /**
+     * The {@code 304} response for a result whose headers carry an {@code ETag} the client already holds, unless
+     * its headers depend on the serialized result.
+     */
+    public /* nullable */ PayloadResult notModified(HttpRequest request, int status,
+            Map<String, List<String>> headers) {
+        if (status != Status.OK || !isConditional(request)) {
+            return null;
+        }
+        PayloadResult result = new PayloadResult(status, Payload.stream(Mono.empty()), headers); // not serialized yet
+        return compression.isKnownBeforeSerialization(request, result) ? notModified(request, result) : null;
+    }
+
+    public Promise<PayloadResult> apply(HttpRequest request, PayloadResult result) {
+        if (result.status != Status.OK || !isGetOrHead(request)) {
+            return Promises.resolved(result);
+        }
+        Payload payload = result.payload;
+        PayloadResult notModified = isConditional(request) ? notModified(request, result) : null;
+        if (notModified != null) {
+            payload.discard();
+            return Promises.resolved(notModified);
+        }
+        if (maxSize < 0 || etag(result.headers) != null || !payload.contentLength.isPresent()
+                || payload.contentLength.getAsLong() > maxSize) {
+            return Promises.resolved(result);
+        }
+        return ResultCacheImpl.toByteBuffer(payload).map(content -> {
+            String etag = strongEtag(content);
+            ImmutableListMultimap.Builder<String, String> headers = ImmutableListMultimap.builder();
+            result.headers.forEach(headers::putAll);
+            headers.put(HeaderNames.ETAG, etag);
+            PayloadResult tagged = new PayloadResult(result.status,
+                    Payload.ofLength(content.remaining(), Mono.just(content)), Multimaps.asMap(headers.build()));
+            if (HttpUtils.ifNoneMatch(request, etag)) {
+                return compression.notModified(request, tagged);
+            }
+            return tagged;
+        });
+    }
+
+    static String strongEtag(ByteBuffer content) {
+        byte[] hash = Hashing.murmur3_128().hashBytes(content.array(), content.arrayOffset() + content.position(),
+                content.remaining()).asBytes();
+        return '"' + BaseEncoding.base64Url().omitPadding().encode(hash) + '"';
+    }
+
+    static /* nullable */ String etag(Map<String, List<String>> headers) {
+        for (Map.Entry<String, List<String>> e : headers.entrySet()) {
+            if (HeaderNames.ETAG.equalsIgnoreCase(e.getKey()) && !e.getValue().isEmpty()) {
+                return e.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    private /* nullable */ PayloadResult notModified(HttpRequest request, PayloadResult result) {
+        String etag = etag(result.headers);
+        if (etag == null || !HttpUtils.ifNoneMatch(request, etag)) {
+            return null;
+        }
+        return compression.notModified(request, result);
+    }
+
+    private static boolean isConditional(HttpRequest request) {
+        return isGetOrHead(request) && request.headers.containsKey(HeaderNames.IF_NONE_MATCH);
+    }
+
+    private static boolean isGetOrHead(HttpRequest request) {
+        return request.method == HttpMethod.GET || request.method == HttpMethod.HEAD;
+    }
+
+}
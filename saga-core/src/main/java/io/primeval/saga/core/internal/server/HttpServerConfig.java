@@ -0,0 +1,47 @@
+package io.primeval.saga.core.internal.server;
+
+import io.primeval.saga.renderer.MimeTypes;
+
+public @interface HttpServerConfig {
+
+    long DEFAULT_INLINE_BUDGET_MS = 5;
+
+    long DEFAULT_COMPRESSION_MIN_SIZE = 1024;
+
+    long NO_COMPRESSION = -1;
+
+    long NO_ETAGS = -1;
+
+    long DEFAULT_MAX_DECODED_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Time an inline action may hold the I/O event thread before it is reported.
+     */
+    long inline_budget_ms() default DEFAULT_INLINE_BUDGET_MS;
+
+    /**
+     * Responses shorter than this are sent uncompressed; responses of unknown length are always compressed, when the
+     * client accepts gzip or deflate. Compression is disabled with {@code -1}.
+     */
+    long compression_min_size() default DEFAULT_COMPRESSION_MIN_SIZE;
+
+    /**
+     * Media types compressed, {@code type/*} matching all subtypes.
+     */
+    String[] compression_media_types() default { "text/*", MimeTypes.JSON, MimeTypes.NDJSON, MimeTypes.XML,
+            "application/javascript", "image/svg+xml" };
+
+    /**
+     * Successful {@code GET} responses of at most this length get an {@code ETag} hashed from their payload, and
+     * {@code If-None-Match} requests matching it a {@code 304}. Disabled with {@code -1}; results carrying their own
+     * {@code ETag} header are always checked, before serialization.
+     */
+    long etag_max_size() default NO_ETAGS;
+
+    /**
+     * Request bodies sent with a {@code Content-Encoding} fail with a {@code PayloadTooLargeException} once they
+     * decompress to more than this.
+     */
+    long max_decoded_size() default DEFAULT_MAX_DECODED_SIZE;
+
+}
@@ -1,20 +1,23 @@
 package io.primeval.saga.core.internal.server;
 
-import java.util.Collection;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
+import org.osgi.util.promise.Deferred;
 import org.osgi.util.promise.Promise;
 import org.osgi.util.promise.Promises;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableListMultimap;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Multimaps;
 
 import io.primeval.codex.dispatcher.Dispatcher;
@@ -23,11 +26,11 @@ import io.primeval.common.type.TypeTag;
 import io.primeval.saga.action.Action;
 import io.primeval.saga.action.ActionFunction;
 import io.primeval.saga.action.ActionKey;
+import io.primeval.saga.action.Context;
 import io.primeval.saga.action.Result;
 import io.primeval.saga.core.internal.ContentType;
 import io.primeval.saga.core.internal.SagaCoreUtils;
 import io.primeval.saga.core.internal.action.ContextImpl;
-import io.primeval.saga.core.internal.http.shared.MimeParse;
 import io.primeval.saga.guava.ImmutableResult;
 import io.primeval.saga.http.protocol.HeaderNames;
 import io.primeval.saga.http.protocol.HttpRequest;
@@ -40,6 +43,7 @@ import io.primeval.saga.renderer.MimeTypes;
 import io.primeval.saga.router.Route;
 import io.primeval.saga.router.Router;
 import io.primeval.saga.router.RouterAction;
+import io.primeval.saga.router.RouterMatch;
 import io.primeval.saga.router.filter.RouteFilterProvider;
 import io.primeval.saga.serdes.deserializer.Deserializer;
 import io.primeval.saga.serdes.serializer.Serializable;
@@ -55,116 +59,140 @@ public final class HttpServerEventHandler {
     private final Deserializer deserializer;
     private final HttpParameterConverter paramConverter;
 
-    private final Supplier<Collection<RouteFilterProvider>> routeFilterProviders;
+    private final Supplier<RouteFilterChains> routeFilterChains;
+
+    private final long inlineBudgetMillis;
+    private final long inlineBudgetNanos;
+    private final Set<ActionKey> overInlineBudget = ConcurrentHashMap.newKeySet();
+    private final ConditionalRequests conditionalRequests;
+    private final ResponseCompression compression;
+    private final /* nullable */ ResultCacheImpl resultCache;
 
     public HttpServerEventHandler(Dispatcher dispatcher, Router router,
-            Supplier<Collection<RouteFilterProvider>> routeFilterProviders,
+            Supplier<RouteFilterChains> routeFilterChains,
             Serializer serializer,
             Deserializer deserializer,
-            HttpParameterConverter paramConverter) {
+            HttpParameterConverter paramConverter,
+            long inlineBudgetMillis,
+            ConditionalRequests conditionalRequests,
+            ResponseCompression compression,
+            ResultCacheImpl resultCache) {
         this.dispatcher = dispatcher;
         this.router = router;
-        this.routeFilterProviders = routeFilterProviders;
+        this.routeFilterChains = routeFilterChains;
         this.serializer = serializer;
         this.deserializer = deserializer;
         this.paramConverter = paramConverter;
+        this.inlineBudgetMillis = inlineBudgetMillis;
+        this.inlineBudgetNanos = TimeUnit.MILLISECONDS.toNanos(inlineBudgetMillis);
+        this.conditionalRequests = conditionalRequests;
+        this.compression = compression;
+        this.resultCache = resultCache;
     }
 
-    public Promise<Action> getAction(HttpServerEvent event) {
-
-        HttpRequest request = event.request();
-        List<String> path = event.request().path;
+    public Action getAction(HttpRequest request, /* nullable */ RouterMatch routerMatch) {
 
-        Promise<Optional<RouterAction>> routerActionPms = router.getActionFor(request.method.name(), path);
+        RouteFilterChains chains = routeFilterChains.get();
 
-        Collection<RouteFilterProvider> filters = routeFilterProviders.get();
+        if (routerMatch == null) {
+            // Unrouted URIs share no chain, filter them on each request.
+            Action ra = notFoundAction();
+            return requestFilterChain(ra.actionKey, ra.function, chains, request);
+        }
 
-        List<RouteFilterProvider> activeFilters = Lists.reverse(filters.stream()
-                .filter(f -> f.matches(request.uri)).collect(Collectors.toList()));
+        RouterAction routerAction = routerMatch.routerAction;
+        Action chain = chains.get(routerAction);
+        if (chain == null) {
+            Action ra = routerAction.action;
+            chain = chains.putIfAbsent(routerAction, routeFilterChain(ra.actionKey, cached(ra, dispatched(ra)),
+                    routerAction.route, chains, request));
+        }
+        return chain;
 
-        return routerActionPms.map(routerAction -> {
-            Optional<Route> boundRoute = routerAction.map(ra -> ra.route);
-            ActionKey actionKey;
-            ActionFunction fun;
+    }
 
-            if (routerAction.isPresent()) {
-                Action ra = routerAction.get().action;
-                actionKey = ra.actionKey;
-                fun = wrapInDispatcher(ra.function);
-            } else {
-                Action ra = notFoundAction();
-                actionKey = ra.actionKey;
-                fun = ra.function;
+    private Action requestFilterChain(ActionKey actionKey, ActionFunction fun, RouteFilterChains chains,
+            HttpRequest request) {
+        Optional<Route> boundRoute = Optional.empty();
+        BitSet byPathPrefix = chains.selectByPathPrefix(request.path);
+        List<RouteFilterProvider> filters = chains.filters;
+        for (int i = filters.size() - 1; i >= 0; i--) {
+            RouteFilterProvider f = filters.get(i);
+            boolean applies = chains.pathPrefixes(i) != null ? byPathPrefix.get(i) : f.matches(request.uri);
+            if (applies) {
+                fun = filtered(f, fun, boundRoute);
             }
+        }
+        return new Action(actionKey, fun);
+    }
 
-            for (RouteFilterProvider f : activeFilters) {
-                ActionFunction nextFun = fun;
-                fun = context -> {
-                    return f.call(context, nextFun, boundRoute);
-                };
+    private Action routeFilterChain(ActionKey actionKey, ActionFunction fun, Route route, RouteFilterChains chains,
+            HttpRequest request) {
+        Optional<Route> boundRoute = Optional.of(route);
+        List<RouteFilterProvider> filters = chains.filters;
+        for (int i = filters.size() - 1; i >= 0; i--) {
+            RouteFilterProvider f = filters.get(i);
+            List<List<String>> prefixes = chains.pathPrefixes(i);
+            if (prefixes == null) {
+                if (f.matchesPerRequest()) {
+                    fun = filteredIf(context -> f.matches(context.request().uri), f, fun, boundRoute);
+                } else if (f.matches(request.uri)) {
+                    fun = filtered(f, fun, boundRoute);
+                }
+                continue;
             }
-            return new Action(actionKey, fun);
-        });
+            switch (RouteFilterChains.prefixMatch(prefixes, route)) {
+            case ALWAYS:
+                fun = filtered(f, fun, boundRoute);
+                break;
+            case DEPENDS_ON_PATH:
+                fun = filteredIf(context -> RouteFilterChains.startsWithAny(context.request().path, prefixes), f,
+                        fun, boundRoute);
+                break;
+            default:
+                break;
+            }
+        }
+        return new Action(actionKey, fun);
+    }
 
+    private static ActionFunction filtered(RouteFilterProvider f, ActionFunction nextFun, Optional<Route> boundRoute) {
+        return context -> {
+            return f.call(context, nextFun, boundRoute);
+        };
+    }
+
+    private static ActionFunction filteredIf(Predicate<Context> condition, RouteFilterProvider f,
+            ActionFunction nextFun, Optional<Route> boundRoute) {
+        return context -> {
+            if (condition.test(context)) {
+                return f.call(context, nextFun, boundRoute);
+            }
+            return nextFun.apply(context);
+        };
     }
 
     public void onEvent(HttpServerEvent event) {
 
         HttpRequest request = event.request();
 
-        List<String> acceptHeaders = request.headers.get(HeaderNames.ACCEPT);
-        String accept = acceptHeaders == null || acceptHeaders.isEmpty() ? "*/*" : acceptHeaders.get(0);
-
-        Promise<Action> actionForRoute = getAction(event);
-
-        ContextImpl actionContext = new ContextImpl(event, deserializer, paramConverter);
-
-        Promise<PayloadResult> payloadResPms = actionForRoute.flatMap(action -> {
-            Promise<Result<?>> promise = action.function.apply(actionContext);
-
-            return promise
-                    .flatMap(result -> {
-
-                        // Handle empty results
-                        Serializable<?> serializable = result.content().map(s -> {
-                            // Void results always are empty payloads
-                            if (s.typeTag().rawType() == Void.class) {
-                                return null; // discard content if type is Void
-                            }
-                            return s;
-                        }).orElse((Serializable) Serializable.EMPTY_PAYLOAD);
-
-                        TypeTag resultType = serializable.typeTag();
-
-                        // Handle Payload types: no serialization/content-type discovery.
-                        if (resultType.rawType() == Payload.class) {
-                            Payload payload = (Payload) serializable.value();
-                            return Promises.resolved(new PayloadResult(result.statusCode(), payload, result.headers()));
-                        }
-
-                        Promise<ContentType> contentTypePms = SagaCoreUtils.determineContentType(result.headers())
-                                .map(Promises::resolved)
-                                .orElseGet(
-                                        () -> serializer.serializableMediaTypes(resultType)
-                                                .map(supportedMediaTypes -> new ContentType(
-                                                        MimeParse.bestMatch(supportedMediaTypes, accept),
-                                                        Collections.emptyMap())));
-                        return contentTypePms
-                                .flatMap(contentType -> {
-                                    Promise<Payload> payloadPms = serializer.serialize(serializable,
-                                            contentType.mediaType, contentType.options);
-
-                                    Result<?> r;
-                                    if (result.headers().containsKey(HeaderNames.CONTENT_TYPE)) {
-                                        r = result;
-                                    } else {
-                                        r = ImmutableResult.copyOf(result)
-                                                .withHeader(HeaderNames.CONTENT_TYPE, contentType.repr()).build();
-                                    }
-                                    return payloadPms
-                                            .map(payload -> new PayloadResult(r.statusCode(), payload, r.headers()));
-                                });
-                    });
+        String accept = accept(request);
+
+        Promise<Result<?>> resultPms = PromiseHelper.wrapPromise(() -> {
+            RouterMatch routerMatch = router.findMatch(request.method, request.path);
+            Action action = getAction(request, routerMatch);
+            ContextImpl actionContext = new ContextImpl(event, routerMatch, deserializer, paramConverter);
+            return action.function.apply(actionContext);
+        });
+
+        Promise<PayloadResult> payloadResPms = resultPms.flatMap(result -> {
+            PayloadResult notModified = conditionalRequests.notModified(request, result.statusCode(),
+                    result.headers());
+            if (notModified != null) {
+                discard(result);
+                return Promises.resolved(notModified);
+            }
+            return payloadResult(result, accept).flatMap(res -> conditionalRequests.apply(request, res));
         }).recoverWith(p -> PromiseHelper.recoverFromWith(p, Throwable.class, error -> {
             Map<String, List<String>> headers = Multimaps
                     .asMap(ImmutableListMultimap.of(HeaderNames.CONTENT_TYPE, MimeTypes.TEXT + "; charset = utf-8"));
@@ -177,8 +205,9 @@ public final class HttpServerEventHandler {
             return payloadPms.map(payload -> new PayloadResult(Status.INTERNAL_SERVER_ERROR, payload, headers));
         }));
 
-        PromiseHelper.onResolve(payloadResPms, payloadRes -> {
+        PromiseHelper.onResolve(payloadResPms, uncompressedRes -> {
 
+            PayloadResult payloadRes = compression.apply(request, uncompressedRes);
             Payload payload = payloadRes.payload;
             HttpResponse response = new HttpResponse(payloadRes.status, "", payloadRes.headers);
 
@@ -190,12 +219,132 @@ public final class HttpServerEventHandler {
 
     }
 
+    private Promise<PayloadResult> payloadResult(Result<?> result, String accept) {
+        // Handle empty results
+        Serializable<?> serializable = result.content().map(s -> {
+            // Void results always are empty payloads
+            if (s.typeTag().rawType() == Void.class) {
+                return null; // discard content if type is Void
+            }
+            return s;
+        }).orElse((Serializable) Serializable.EMPTY_PAYLOAD);
+
+        TypeTag resultType = serializable.typeTag();
+
+        // Handle Payload types: no serialization/content-type discovery.
+        if (resultType.rawType() == Payload.class) {
+            Payload payload = (Payload) serializable.value();
+            return Promises.resolved(new PayloadResult(result.statusCode(), payload, result.headers()));
+        }
+
+        Promise<ContentType> contentTypePms = SagaCoreUtils.determineContentType(result.headers())
+                .map(Promises::resolved)
+                .orElseGet(
+                        () -> serializer.negotiateMediaType(resultType, accept)
+                                .map(mediaType -> new ContentType(mediaType, Collections.emptyMap())));
+        return contentTypePms
+                .flatMap(contentType -> {
+                    Promise<Payload> payloadPms = serializer.serialize(serializable,
+                            contentType.mediaType, contentType.options);
+
+                    Result<?> r;
+                    if (result.headers().containsKey(HeaderNames.CONTENT_TYPE)) {
+                        r = result;
+                    } else {
+                        r = ImmutableResult.copyOf(result)
+                                .withHeader(HeaderNames.CONTENT_TYPE, contentType.repr()).build();
+                    }
+                    return payloadPms
+                            .map(payload -> new PayloadResult(r.statusCode(), payload, r.headers()));
+                });
+    }
+
+    // Payload results are not serialized, so they are released here when not sent.
+    private static void discard(Result<?> result) {
+        result.content().map(Serializable::value).filter(Payload.class::isInstance)
+                .ifPresent(value -> ((Payload) value).discard());
+    }
+
+    private static String accept(HttpRequest request) {
+        List<String> acceptHeaders = request.headers.get(HeaderNames.ACCEPT);
+        return acceptHeaders == null || acceptHeaders.isEmpty() ? "*/*" : acceptHeaders.get(0);
+    }
+
+    private ActionFunction cached(Action action, ActionFunction fun) {
+        if (action.cacheTtlMillis == Action.NOT_CACHED || resultCache == null) {
+            return fun;
+        }
+        return context -> {
+            String accept = accept(context.request());
+            return resultCache.call(action, context, fun, accept, result -> payloadResult(result, accept));
+        };
+    }
+
     private Action notFoundAction() {
         return DefaultActions.NOT_FOUND; // could be overriden by service
     }
 
+    private ActionFunction dispatched(Action action) {
+        switch (action.dispatchMode) {
+        case INLINE:
+            return inline(action.actionKey, action.function);
+        case VIRTUAL_THREAD:
+            if (VirtualThreads.EXECUTOR != null) {
+                return onVirtualThread(action.function);
+            }
+            LOGGER.warn("Virtual threads are not available, dispatching action {} on the dispatcher",
+                    action.actionKey.repr());
+            return wrapInDispatcher(action.function);
+        default:
+            return wrapInDispatcher(action.function);
+        }
+    }
+
     private ActionFunction wrapInDispatcher(ActionFunction fun) {
         return context -> dispatcher.dispatch(() -> fun.apply(context)).flatMap(x -> x);
     }
 
+    private static ActionFunction onVirtualThread(ActionFunction fun) {
+        return context -> {
+            Deferred<Result<?>> deferred = new Deferred<>();
+            VirtualThreads.EXECUTOR.execute(() -> {
+                try {
+                    deferred.resolveWith(fun.apply(context));
+                } catch (Throwable t) {
+                    deferred.fail(t);
+                }
+            });
+            return deferred.getPromise();
+        };
+    }
+
+    // Runs on the I/O event thread: only the synchronous part of the action is timed, as it is what holds the thread.
+    private ActionFunction inline(ActionKey actionKey, ActionFunction fun) {
+        return context -> {
+            long start = System.nanoTime();
+            try {
+                return fun.apply(context);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                if (elapsed >= inlineBudgetNanos) {
+                    onInlineBudgetExceeded(actionKey, elapsed);
+                }
+            }
+        };
+    }
+
+    private void onInlineBudgetExceeded(ActionKey actionKey, long elapsedNanos) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (overInlineBudget.add(actionKey)) {
+            LOGGER.warn("Inline action {} held the I/O thread for {} ms (budget: {} ms), consider dispatching it",
+                    actionKey.repr(), elapsedMillis, inlineBudgetMillis);
+        } else {
+            LOGGER.debug("Inline action {} held the I/O thread for {} ms", actionKey.repr(), elapsedMillis);
+        }
+    }
+
+    boolean exceededInlineBudget(ActionKey actionKey) {
+        return overInlineBudget.contains(actionKey);
+    }
+
 }
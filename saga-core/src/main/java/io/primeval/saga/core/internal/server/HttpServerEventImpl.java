@@ -1,9 +1,12 @@
 package io.primeval.saga.core.internal.server;
 
 import java.util.List;
+import java.util.Locale;
 
 import com.google.common.collect.ImmutableSortedMap;
 
+import io.primeval.saga.core.internal.http.shared.ContentCodings;
+import io.primeval.saga.http.protocol.HeaderNames;
 import io.primeval.saga.http.protocol.HttpRequest;
 import io.primeval.saga.http.protocol.HttpResponse;
 import io.primeval.saga.http.server.spi.HttpServerEvent;
@@ -13,9 +16,11 @@ public final class HttpServerEventImpl implements HttpServerEvent {
 
     private final HttpServerEvent backendEvent;
     private final HttpRequest request;
+    private final long maxDecodedSize;
 
-    public HttpServerEventImpl(HttpServerEvent backendEvent) {
+    public HttpServerEventImpl(HttpServerEvent backendEvent, long maxDecodedSize) {
         this.backendEvent = backendEvent;
+        this.maxDecodedSize = maxDecodedSize;
         HttpRequest backendRequest = backendEvent.request();
         this.request = new HttpRequest(backendRequest.host, backendRequest.method,
                 backendRequest.uri, backendRequest.path, backendRequest.parameters,
@@ -30,7 +35,15 @@ public final class HttpServerEventImpl implements HttpServerEvent {
 
     @Override
     public Payload content() {
-        return backendEvent.content();
+        Payload content = backendEvent.content();
+        List<String> contentEncoding = request.headers.get(HeaderNames.CONTENT_ENCODING);
+        if (contentEncoding != null && contentEncoding.size() == 1) {
+            String coding = contentEncoding.get(0).trim().toLowerCase(Locale.ROOT);
+            if (ContentCodings.isSupported(coding)) {
+                return ContentCodings.decode(content, coding, maxDecodedSize);
+            }
+        }
+        return content;
     }
 
     @Override
@@ -1,6 +1,7 @@
 package io.primeval.saga.core.internal.server;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.concurrent.atomic.AtomicReference;
@@ -36,7 +37,7 @@ import io.primeval.saga.serdes.serializer.Serializer;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 
-@Component
+@Component(configurationPid = "saga.server")
 public final class HttpServerImpl implements HttpServer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpServerImpl.class);
@@ -57,24 +58,45 @@ public final class HttpServerImpl implements HttpServer {
 
     private ProviderProperties properties;
 
-    private Disposable streamCancellation;
+    private List<Disposable> streamCancellations = ImmutableList.of();
 
     private HttpServerEventHandler httpServerEventHandler;
 
     private AtomicReference<SortedMap<Orderer<RouteFilterProvider>, RouteFilterProvider>> routeFilterProviders = new AtomicReference<>(
             ImmutableSortedMap.of());
 
-    private AtomicReference<ImmutableList<RouteFilterProvider>> allRouteFilterProviders = new AtomicReference<>(
-            ImmutableList.of());
+    private AtomicReference<RouteFilterChains> routeFilterChains = new AtomicReference<>(RouteFilterChains.EMPTY);
 
     private ExceptionMappingFilterProvider exceptionMappingFilterProvider;
 
+    private ResultCacheImpl resultCache;
+
+    private long maxDecodedSize = HttpServerConfig.DEFAULT_MAX_DECODED_SIZE;
+
     @Activate
+    public void activate(HttpServerConfig config) {
+        maxDecodedSize = config.max_decoded_size();
+        ResponseCompression compression = new ResponseCompression(config.compression_min_size(),
+                config.compression_media_types());
+        createEventHandler(config.inline_budget_ms(), new ConditionalRequests(config.etag_max_size(), compression),
+                compression);
+    }
+
     public void activate() {
-        httpServerEventHandler = new HttpServerEventHandler(dispatcher, router, this::currentFilterProviders,
+        createEventHandler(HttpServerConfig.DEFAULT_INLINE_BUDGET_MS, ConditionalRequests.DISABLED,
+                ResponseCompression.DISABLED);
+    }
+
+    private void createEventHandler(long inlineBudgetMillis, ConditionalRequests conditionalRequests,
+            ResponseCompression compression) {
+        httpServerEventHandler = new HttpServerEventHandler(dispatcher, router, routeFilterChains::get,
                 serializer,
                 deserializer,
-                paramConverter);
+                paramConverter,
+                inlineBudgetMillis,
+                conditionalRequests,
+                compression,
+                resultCache);
     }
 
     @Override
@@ -85,14 +107,17 @@ public final class HttpServerImpl implements HttpServer {
 
         promise.onResolve(() -> {
             LOGGER.info("Saga server started [backend: {}]", properties.provider);
-            Publisher<HttpServerEvent> eventStream = serverProvider.eventStream();
-
-            streamCancellation = Flux.from(eventStream).map(HttpServerEventImpl::new)
-                    .doOnNext(httpServerEventHandler::onEvent)
-                    .doOnError(this::onError)
-                    .doOnComplete(this::onClose)
-                    .doOnCancel(this::onClose)
-                    .subscribe();
+            ImmutableList.Builder<Disposable> cancellations = ImmutableList.builder();
+            for (Publisher<HttpServerEvent> eventStream : serverProvider.eventStreams()) {
+                cancellations.add(Flux.from(eventStream)
+                        .map(event -> new HttpServerEventImpl(event, maxDecodedSize))
+                        .doOnNext(httpServerEventHandler::onEvent)
+                        .doOnError(this::onError)
+                        .doOnComplete(this::onClose)
+                        .doOnCancel(this::onClose)
+                        .subscribe());
+            }
+            streamCancellations = cancellations.build();
 
         });
 
@@ -121,7 +146,7 @@ public final class HttpServerImpl implements HttpServer {
         Promise<Void> promise = serverProvider.stop();
         promise.onResolve(() -> {
             LOGGER.info("Saga HTTP server stopped [backend: {}]", properties.provider);
-            streamCancellation.dispose();
+            streamCancellations.forEach(Disposable::dispose);
         });
         return promise;
     }
@@ -174,8 +199,13 @@ public final class HttpServerImpl implements HttpServer {
         this.scheduler = scheduler;
     }
 
+    @Reference
+    public void setResultCache(ResultCacheImpl resultCache) {
+        this.resultCache = resultCache;
+    }
+
     public Collection<RouteFilterProvider> currentFilterProviders() {
-        return allRouteFilterProviders.get();
+        return routeFilterChains.get().filters;
     }
 
     @Reference
@@ -205,8 +235,9 @@ public final class HttpServerImpl implements HttpServer {
     }
 
     public void rebuildRouteFilterProviders() {
-        allRouteFilterProviders.set(ImmutableList.<RouteFilterProvider> builder().add(exceptionMappingFilterProvider)
-                .addAll(routeFilterProviders.get().values()).add(exceptionMappingFilterProvider).build());
+        routeFilterChains.set(new RouteFilterChains(ImmutableList.<RouteFilterProvider> builder()
+                .add(exceptionMappingFilterProvider)
+                .addAll(routeFilterProviders.get().values()).add(exceptionMappingFilterProvider).build()));
     }
 
     @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
@@ -0,0 +1,121 @@
+package io.primeval.saga.core.internal.server;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multimaps;
+
+import io.primeval.saga.core.internal.ContentType;
+import io.primeval.saga.core.internal.SagaCoreUtils;
+import io.primeval.saga.core.internal.http.shared.ContentCodings;
+import io.primeval.saga.http.protocol.HeaderNames;
+import io.primeval.saga.http.protocol.HttpRequest;
+import io.primeval.saga.http.protocol.Status;
+import io.primeval.saga.http.shared.Payload;
+
+/**
+ * Compresses responses of compressible media types, at least {@code minSize} long or of unknown length, with the
+ * coding preferred by the client.
+ */
+public final class ResponseCompression {
+
+    public static final ResponseCompression DISABLED = new ResponseCompression(HttpServerConfig.NO_COMPRESSION,
+            new String[0]);
+
+    private final long minSize;
+    private final ImmutableSet<String> mediaTypes;
+    private final ImmutableSet<String> mediaTypeFamilies; // "text/" for "text/*"
+
+    public ResponseCompression(long minSize, String[] mediaTypes) {
+        this.minSize = minSize;
+        ImmutableSet.Builder<String> types = ImmutableSet.builder();
+        ImmutableSet.Builder<String> families = ImmutableSet.builder();
+        for (String mediaType : mediaTypes) {
+            String type = mediaType.trim().toLowerCase(Locale.ROOT);
+            if (type.endsWith("/*")) {
+                families.add(type.substring(0, type.length() - 1));
+            } else {
+                types.add(type);
+            }
+        }
+        this.mediaTypes = types.build();
+        this.mediaTypeFamilies = families.build();
+    }
+
+    public PayloadResult apply(HttpRequest request, PayloadResult result) {
+        String coding = coding(request, result);
+        if (coding == null) {
+            return result;
+        }
+        ImmutableListMultimap.Builder<String, String> headers = headers(result, coding);
+        headers.put(HeaderNames.CONTENT_ENCODING, coding);
+        return new PayloadResult(result.status, ContentCodings.encode(result.payload, coding),
+                Multimaps.asMap(headers.build()));
+    }
+
+    /**
+     * The {@code 304} answering a request for {@code result}, with the {@code ETag} and {@code Vary} headers the
+     * result would be sent with.
+     */
+    public PayloadResult notModified(HttpRequest request, PayloadResult result) {
+        return new PayloadResult(Status.NOT_MODIFIED, Payload.EMPTY,
+                Multimaps.asMap(headers(result, coding(request, result)).build()));
+    }
+
+    /**
+     * Whether the coding of a result of yet unknown length is known before it is serialized, which may also set its
+     * content type.
+     */
+    public boolean isKnownBeforeSerialization(HttpRequest request, PayloadResult result) {
+        if (minSize < 0) {
+            return true;
+        } else if (!SagaCoreUtils.determineContentType(result.headers).isPresent()) {
+            return false;
+        }
+        return minSize == 0 || coding(request, result) == null; // compressed at any length, or never
+    }
+
+    private static ImmutableListMultimap.Builder<String, String> headers(PayloadResult result,
+            /* nullable */ String coding) {
+        ImmutableListMultimap.Builder<String, String> headers = ImmutableListMultimap.builder();
+        result.headers.forEach((name, values) -> {
+            if (coding != null && HeaderNames.ETAG.equalsIgnoreCase(name)) {
+                // The encoded bytes differ from the tagged ones.
+                values.forEach(etag -> headers.put(name, etag.startsWith("W/") ? etag : "W/" + etag));
+            } else if (!HeaderNames.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                headers.putAll(name, values);
+            }
+        });
+        if (coding != null) {
+            headers.put(HeaderNames.VARY, HeaderNames.ACCEPT_ENCODING);
+        }
+        return headers;
+    }
+
+    /* nullable */ String coding(HttpRequest request, PayloadResult result) {
+        if (minSize < 0 || result.status < Status.OK || result.status == Status.NO_CONTENT
+                || result.status == Status.NOT_MODIFIED || result.headers.containsKey(HeaderNames.CONTENT_ENCODING)) {
+            return null;
+        }
+        if (result.payload.contentLength.isPresent() && result.payload.contentLength.getAsLong() < minSize) {
+            return null;
+        }
+        Optional<ContentType> contentType = SagaCoreUtils.determineContentType(result.headers);
+        if (!contentType.isPresent() || !isCompressible(contentType.get().mediaType)) {
+            return null;
+        }
+        return ContentCodings.negotiate(request.headers.get(HeaderNames.ACCEPT_ENCODING));
+    }
+
+    private boolean isCompressible(String mediaType) {
+        String type = mediaType.trim().toLowerCase(Locale.ROOT);
+        if (mediaTypes.contains(type)) {
+            return true;
+        }
+        int slash = type.indexOf('/');
+        return slash > 0 && mediaTypeFamilies.contains(type.substring(0, slash + 1));
+    }
+
+}
@@ -0,0 +1,19 @@
+package io.primeval.saga.core.internal.server;
+
+public @interface ResultCacheConfig {
+
+    long DEFAULT_MAX_SIZE = 32 * 1024 * 1024;
+
+    long DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+
+    /**
+     * Total size of the cached payloads, least recently used ones are evicted beyond.
+     */
+    long max_size() default DEFAULT_MAX_SIZE;
+
+    /**
+     * Larger payloads, or payloads of unknown length, are never cached.
+     */
+    long max_entry_size() default DEFAULT_MAX_ENTRY_SIZE;
+
+}
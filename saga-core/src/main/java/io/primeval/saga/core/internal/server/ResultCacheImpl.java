@@ -0,0 +1,223 @@
+package io.primeval.saga.core.internal.server;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.util.promise.Promise;
+import org.osgi.util.promise.Promises;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableListMultimap;
+
+import io.primeval.codex.promise.PromiseHelper;
+import io.primeval.saga.action.Action;
+import io.primeval.saga.action.ActionFunction;
+import io.primeval.saga.action.ActionKey;
+import io.primeval.saga.action.Context;
+import io.primeval.saga.action.Result;
+import io.primeval.saga.action.ResultCache;
+import io.primeval.saga.guava.ImmutableResult;
+import io.primeval.saga.http.protocol.HttpMethod;
+import io.primeval.saga.http.protocol.HttpRequest;
+import io.primeval.saga.http.protocol.Status;
+import io.primeval.saga.http.shared.ByteBufferPool;
+import io.primeval.saga.http.shared.Payload;
+import io.primeval.saga.router.spi.RouterActionProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps the serialized payload and headers of cacheable results per action, URI and {@code Accept} header, and
+ * replays them with a duplicate of the cached buffer.
+ */
+@Component(configurationPid = "saga.result.cache", service = { ResultCache.class, ResultCacheImpl.class })
+public final class ResultCacheImpl implements ResultCache {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private long maxEntrySize = ResultCacheConfig.DEFAULT_MAX_ENTRY_SIZE;
+    private volatile Cache<Key, Entry> entries = createCache(ResultCacheConfig.DEFAULT_MAX_SIZE);
+
+    private static final class Key {
+        private final ActionKey actionKey;
+        private final String uri;
+        private final String accept;
+
+        Key(ActionKey actionKey, String uri, String accept) {
+            this.actionKey = actionKey;
+            this.uri = uri;
+            this.accept = accept;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(actionKey, uri, accept);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (obj == null)
+                return false;
+            if (getClass() != obj.getClass())
+                return false;
+            Key other = (Key) obj;
+            return actionKey.equals(other.actionKey) && uri.equals(other.uri) && accept.equals(other.accept);
+        }
+    }
+
+    private static final class Entry {
+        private final ImmutableListMultimap<String, String> headers;
+        private final ByteBuffer content;
+        private final boolean untilInvalidated;
+        private final long expiresAtNanos;
+
+        Entry(ImmutableListMultimap<String, String> headers, ByteBuffer content, boolean untilInvalidated,
+                long expiresAtNanos) {
+            this.headers = headers;
+            this.content = content;
+            this.untilInvalidated = untilInvalidated;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isFresh() {
+            return untilInvalidated || System.nanoTime() - expiresAtNanos < 0;
+        }
+
+        Result<?> result() {
+            ByteBuffer buffer = content.duplicate();
+            return ImmutableResult.builder(Payload.ofLength(buffer.remaining(), Mono.just(buffer)))
+                    .withExplicitType(Payload.TYPETAG).withHeaders(headers).build();
+        }
+    }
+
+    @Activate
+    public void activate(ResultCacheConfig config) {
+        configure(config.max_size(), config.max_entry_size());
+    }
+
+    void configure(long maxSize, long maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+        entries = createCache(maxSize);
+    }
+
+    private static Cache<Key, Entry> createCache(long maxSize) {
+        return CacheBuilder.newBuilder().maximumWeight(maxSize)
+                .<Key, Entry> weigher((key, entry) -> entry.content.remaining() + key.uri.length()).build();
+    }
+
+    /**
+     * Runs the action function unless a fresh serialized result is cached, caching successful results of known,
+     * small enough length. Results are returned serialized, as {@code Payload} results.
+     */
+    Promise<Result<?>> call(Action action, Context context, ActionFunction function, String accept,
+            Function<Result<?>, Promise<PayloadResult>> serialize) {
+        HttpRequest request = context.request();
+        if (request.method != HttpMethod.GET && request.method != HttpMethod.HEAD) {
+            return function.apply(context);
+        }
+        Key key = new Key(action.actionKey, request.uri, accept);
+        Cache<Key, Entry> cache = entries;
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            if (entry.isFresh()) {
+                hits.increment();
+                return Promises.resolved(entry.result());
+            }
+            cache.invalidate(key);
+        }
+        misses.increment();
+
+        long startNanos = System.nanoTime();
+        return function.apply(context).flatMap(serialize::apply).flatMap(payloadResult -> {
+            Payload payload = payloadResult.payload;
+            ImmutableListMultimap<String, String> headers = headers(payloadResult.headers);
+            if (payloadResult.status != Status.OK || !payload.contentLength.isPresent()
+                    || payload.contentLength.getAsLong() > maxEntrySize) {
+                return Promises.resolved(ImmutableResult.builder(payload).withExplicitType(Payload.TYPETAG)
+                        .withStatusCode(payloadResult.status).withHeaders(headers).build());
+            }
+            boolean untilInvalidated = action.cacheTtlMillis == Action.CACHED_UNTIL_INVALIDATED;
+            long expiresAtNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(action.cacheTtlMillis);
+            return toByteBuffer(payload).map(content -> {
+                Entry newEntry = new Entry(headers, content, untilInvalidated, expiresAtNanos);
+                cache.put(key, newEntry);
+                return newEntry.result();
+            });
+        });
+    }
+
+    private static ImmutableListMultimap<String, String> headers(Map<String, List<String>> headers) {
+        ImmutableListMultimap.Builder<String, String> builder = ImmutableListMultimap.builder();
+        headers.forEach(builder::putAll);
+        return builder.build();
+    }
+
+    // Copied out of pooled buffers, which go back to their pool.
+    static Promise<ByteBuffer> toByteBuffer(Payload payload) {
+        ByteBufferPool bufferPool = payload.bufferPool;
+        Mono<ByteBuffer> content = Flux.from(payload.content).collect(ByteArrayOutputStream::new, (out, buffer) -> {
+            byte[] b = new byte[buffer.remaining()];
+            buffer.duplicate().get(b);
+            out.write(b, 0, b.length);
+            if (bufferPool != null) {
+                bufferPool.release(buffer);
+            }
+        }).map(out -> ByteBuffer.wrap(out.toByteArray()));
+        return PromiseHelper.fromMono(content);
+    }
+
+    @Override
+    public void invalidate(ActionKey actionKey) {
+        entries.asMap().keySet().removeIf(key -> key.actionKey.equals(actionKey));
+    }
+
+    @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
+    public void addRouterActionProvider(RouterActionProvider provider) {
+        // nothing cached for its routes yet
+    }
+
+    // Entries reference their action key, and through it the controller's class loader.
+    public void removeRouterActionProvider(RouterActionProvider provider) {
+        Set<ActionKey> actionKeys = provider.routerActions().stream().map(routerAction -> routerAction.action.actionKey)
+                .collect(Collectors.toSet());
+        entries.asMap().keySet().removeIf(key -> actionKeys.contains(key.actionKey));
+    }
+
+    @Override
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    @Override
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long missCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public long size() {
+        return entries.size();
+    }
+
+}
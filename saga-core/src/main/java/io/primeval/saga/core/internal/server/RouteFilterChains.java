@@ -0,0 +1,120 @@
+package io.primeval.saga.core.internal.server;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Splitter;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+
+import io.primeval.saga.action.Action;
+import io.primeval.saga.router.Route;
+import io.primeval.saga.router.RouteSegment;
+import io.primeval.saga.router.RouterAction;
+import io.primeval.saga.router.filter.RouteFilterProvider;
+
+/**
+ * The active route filters, in call order, along with the filter chains already composed for bound routes. A new
+ * instance is published each time the filter set changes, which drops every cached chain at once.
+ */
+public final class RouteFilterChains {
+
+    public enum PrefixMatch {
+        ALWAYS, NEVER, DEPENDS_ON_PATH
+    }
+
+    public static final RouteFilterChains EMPTY = new RouteFilterChains(ImmutableList.of());
+
+    private static final Splitter PATH_SPLITTER = Splitter.on('/').omitEmptyStrings();
+
+    public final ImmutableList<RouteFilterProvider> filters;
+
+    // By filter index: the declared path prefixes, split in segments, or null for filters only having a predicate.
+    private final List<List<List<String>>> pathPrefixes;
+
+    private final RouteFilterPrefixTree prefixTree = new RouteFilterPrefixTree();
+
+    // Weak keys compare by identity, so a re-bound route never picks up a stale chain and unbound ones are collected.
+    private final ConcurrentMap<RouterAction, Action> chainByRouterAction = CacheBuilder.newBuilder().weakKeys()
+            .<RouterAction, Action> build().asMap();
+
+    public RouteFilterChains(ImmutableList<RouteFilterProvider> filters) {
+        this.filters = filters;
+        List<List<List<String>>> pathPrefixes = new ArrayList<>(filters.size());
+        for (int i = 0; i < filters.size(); i++) {
+            Optional<List<String>> declared = filters.get(i).pathPrefixes();
+            if (!declared.isPresent()) {
+                pathPrefixes.add(null);
+                continue;
+            }
+            ImmutableList.Builder<List<String>> prefixes = ImmutableList.builder();
+            for (String prefix : declared.get()) {
+                List<String> segments = ImmutableList.copyOf(PATH_SPLITTER.split(prefix));
+                prefixes.add(segments);
+                prefixTree.add(segments, i);
+            }
+            pathPrefixes.add(prefixes.build());
+        }
+        this.pathPrefixes = Collections.unmodifiableList(pathPrefixes);
+    }
+
+    /* nullable */ public Action get(RouterAction routerAction) {
+        return chainByRouterAction.get(routerAction);
+    }
+
+    public Action putIfAbsent(RouterAction routerAction, Action chain) {
+        Action existing = chainByRouterAction.putIfAbsent(routerAction, chain);
+        return existing != null ? existing : chain;
+    }
+
+    /* nullable */ public List<List<String>> pathPrefixes(int filterIndex) {
+        return pathPrefixes.get(filterIndex);
+    }
+
+    // The indices of the filters declaring a prefix of path.
+    public BitSet selectByPathPrefix(List<String> path) {
+        return prefixTree.select(path);
+    }
+
+    public static PrefixMatch prefixMatch(List<List<String>> prefixes, Route route) {
+        PrefixMatch res = PrefixMatch.NEVER;
+        for (List<String> prefix : prefixes) {
+            // Routed paths are exactly as deep as their route.
+            if (prefix.size() > route.segments.size()) {
+                continue;
+            }
+            boolean literal = true;
+            boolean mismatch = false;
+            for (int i = 0; i < prefix.size(); i++) {
+                RouteSegment segment = route.segments.get(i);
+                if (!segment.matches(prefix.get(i))) {
+                    mismatch = true;
+                    break;
+                }
+                literal &= segment.kind == RouteSegment.Kind.LITERAL;
+            }
+            if (mismatch) {
+                continue;
+            }
+            if (literal) {
+                return PrefixMatch.ALWAYS;
+            }
+            res = PrefixMatch.DEPENDS_ON_PATH;
+        }
+        return res;
+    }
+
+    public static boolean startsWithAny(List<String> path, List<List<String>> prefixes) {
+        for (List<String> prefix : prefixes) {
+            if (prefix.size() <= path.size() && prefix.equals(path.subList(0, prefix.size()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,44 @@
+package io.primeval.saga.core.internal.server;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the filters declaring path prefixes, by path segment. Selecting the filters applying to a path costs one map
+ * lookup per path segment, whatever the number of filters.
+ */
+public final class RouteFilterPrefixTree {
+
+    private final Node root = new Node();
+
+    // Only mutated while building, before being published.
+    void add(List<String> prefix, int filterIndex) {
+        Node node = root;
+        for (String segment : prefix) {
+            node = node.children.computeIfAbsent(segment, s -> new Node());
+        }
+        node.filterIndices.set(filterIndex);
+    }
+
+    public BitSet select(List<String> path) {
+        BitSet selected = new BitSet();
+        Node node = root;
+        selected.or(node.filterIndices);
+        for (String segment : path) {
+            node = node.children.get(segment);
+            if (node == null) {
+                break;
+            }
+            selected.or(node.filterIndices);
+        }
+        return selected;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final BitSet filterIndices = new BitSet();
+    }
+
+}
@@ -0,0 +1,29 @@
+package io.primeval.saga.core.internal.server;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual threads, when the runtime has them (Java 21+). Looked up reflectively since Saga targets Java 8.
+ */
+final class VirtualThreads {
+
+    /**
+     * Starts a new virtual thread per task; {@code null} if virtual threads are not available.
+     */
+    static final /* nullable */ Executor EXECUTOR = newVirtualThreadPerTaskExecutor();
+
+    private VirtualThreads() {
+    }
+
+    private static Executor newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+}
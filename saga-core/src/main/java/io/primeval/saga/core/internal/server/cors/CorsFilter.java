@@ -6,7 +6,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,7 +34,7 @@ import io.primeval.saga.router.filter.RouteFilterProvider;
 @Component(configurationPid = "saga.cors.filter", configurationPolicy = ConfigurationPolicy.REQUIRE)
 public final class CorsFilter implements RouteFilterProvider {
 
-    private static final Pattern PATTERN = Pattern.compile(".*");
+    private static final Optional<List<String>> ALL_PATHS = Optional.of(Collections.singletonList("/"));
 
     private Router router;
 
@@ -174,7 +173,12 @@ public final class CorsFilter implements RouteFilterProvider {
 
     @Override
     public boolean matches(String pattern) {
-        return PATTERN.matcher(pattern).matches();
+        return true;
+    }
+
+    @Override
+    public Optional<List<String>> pathPrefixes() {
+        return ALL_PATHS;
     }
 
 }
@@ -1,6 +1,7 @@
 package io.primeval.saga.core.internal.server.exception;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -36,6 +37,8 @@ import io.primeval.saga.router.filter.RouteFilterProvider;
 @Component(immediate = true, service = ExceptionMappingFilterProvider.class)
 public final class ExceptionMappingFilterProvider implements RouteFilterProvider {
 
+    private static final Optional<List<String>> ALL_PATHS = Optional.of(Collections.singletonList("/"));
+
     private final Map<Class<? extends Throwable>, AtomicReference<SortedMap<Orderer<ExceptionRecoveryProvider<?>>, ExceptionRecovery<?>>>> mappers = Maps
             .newConcurrentMap();
     private volatile ImmutableListMultimap<Class<?>, ExceptionRecovery<?>> exceptionMatcher = ImmutableListMultimap
@@ -114,6 +117,11 @@ public final class ExceptionMappingFilterProvider implements RouteFilterProvider
         return true;
     }
 
+    @Override
+    public Optional<List<String>> pathPrefixes() {
+        return ALL_PATHS;
+    }
+
     public void addExceptionMapper(ExceptionRecoveryProvider<?> exceptionMapper,
             Orderer<ExceptionRecoveryProvider<?>> orderer) {
         Class<? extends Throwable> exceptionType = exceptionMapper.exceptionType();
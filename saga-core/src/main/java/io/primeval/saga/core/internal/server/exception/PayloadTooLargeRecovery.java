@@ -0,0 +1,33 @@
+package io.primeval.saga.core.internal.server.exception;
+
+import java.util.Optional;
+
+import org.osgi.service.component.annotations.Component;
+import org.osgi.util.promise.Promise;
+import org.osgi.util.promise.Promises;
+
+import io.primeval.saga.action.Context;
+import io.primeval.saga.action.Result;
+import io.primeval.saga.guava.ImmutableResult;
+import io.primeval.saga.http.protocol.Status;
+import io.primeval.saga.http.shared.PayloadTooLargeException;
+import io.primeval.saga.router.Route;
+import io.primeval.saga.router.exception.ExceptionRecoveryProvider;
+import io.primeval.saga.router.exception.ExceptionalResult;
+
+@Component
+public final class PayloadTooLargeRecovery implements ExceptionRecoveryProvider<PayloadTooLargeException> {
+
+    @Override
+    public Promise<Result<?>> recover(PayloadTooLargeException exception, Context context,
+            Optional<Route> boundRoute) {
+        return Promises.resolved(ImmutableResult.builder(new ExceptionalResult(context.request(), exception))
+                .withStatusCode(Status.REQUEST_ENTITY_TOO_LARGE).build());
+    }
+
+    @Override
+    public Class<PayloadTooLargeException> exceptionType() {
+        return PayloadTooLargeException.class;
+    }
+
+}
@@ -0,0 +1,21 @@
+package io.primeval.saga.core.internal.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+import io.primeval.saga.renderer.MimeTypes;
+
+public class HttpClientMethodImplTest {
+
+    @Test
+    public void shouldPreferBinaryMediaTypes() throws Exception {
+        assertThat(HttpClientMethodImpl.acceptHeader(ImmutableSet.of(MimeTypes.JSON, MimeTypes.CBOR)))
+                .isEqualTo("application/cbor,application/json;q=0.9");
+        assertThat(HttpClientMethodImpl.acceptHeader(ImmutableSet.of(MimeTypes.JSON)))
+                .isEqualTo("application/json");
+    }
+
+}
@@ -0,0 +1,55 @@
+package io.primeval.saga.core.internal.http.shared;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class ByteBufferPoolImplTest {
+
+    private final ByteBufferPoolImpl tested = new ByteBufferPoolImpl();
+
+    @Test
+    public void shouldReuseReleasedBuffersOfSameSizeClass() throws Exception {
+        ByteBuffer buffer = tested.acquire(600);
+        assertThat(buffer.capacity()).isEqualTo(2048);
+        buffer.put((byte) 42);
+
+        tested.release(buffer);
+        ByteBuffer reused = tested.acquire(2000);
+
+        assertThat(reused).isSameAs(buffer);
+        assertThat(reused.position()).isEqualTo(0);
+        assertThat(reused.limit()).isEqualTo(2048);
+    }
+
+    @Test
+    public void shouldNotPoolForeignOrLargeBuffers() throws Exception {
+        tested.release(ByteBuffer.allocate(1000));
+        assertThat(tested.acquire(1000).capacity()).isEqualTo(2048);
+
+        ByteBuffer large = tested.acquire(1024 * 1024);
+        assertThat(large.capacity()).isEqualTo(1024 * 1024);
+        tested.release(large);
+        assertThat(tested.acquire(1024 * 1024)).isNotSameAs(large);
+    }
+
+    @Test
+    public void shouldShareBuffersAcrossThreads() throws Exception {
+        ByteBuffer[] buffers = new ByteBuffer[9];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = tested.acquire(512);
+        }
+        Thread releasing = new Thread(() -> {
+            for (ByteBuffer buffer : buffers) {
+                tested.release(buffer); // 8 stay in this thread's cache, 1 is shared
+            }
+        });
+        releasing.start();
+        releasing.join();
+
+        assertThat(tested.acquire(512)).isSameAs(buffers[8]);
+    }
+
+}
@@ -0,0 +1,137 @@
+package io.primeval.saga.core.internal.http.shared;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.Test;
+
+import io.primeval.saga.core.internal.http.shared.ContentCodings.Decoder;
+import io.primeval.saga.core.internal.http.shared.ContentCodings.Encoder;
+import io.primeval.saga.http.shared.PayloadTooLargeException;
+
+public class ContentCodingsTest {
+
+    private static final byte[] CONTENT = content();
+
+    @Test
+    public void shouldNegotiateCoding() throws Exception {
+        assertThat(ContentCodings.negotiate(Arrays.asList("gzip, deflate, br"))).isEqualTo(ContentCodings.GZIP);
+        assertThat(ContentCodings.negotiate(Arrays.asList("gzip;q=0.5, deflate"))).isEqualTo(ContentCodings.DEFLATE);
+        assertThat(ContentCodings.negotiate(Arrays.asList("*;q=0.1"))).isEqualTo(ContentCodings.GZIP);
+        assertThat(ContentCodings.negotiate(Arrays.asList("gzip;q=0, identity"))).isNull();
+        assertThat(ContentCodings.negotiate(null)).isNull();
+    }
+
+    @Test
+    public void shouldEncodeReadableStreams() throws Exception {
+        for (boolean flushEachBuffer : new boolean[] { false, true }) {
+            assertThat(read(new GZIPInputStream(new ByteArrayInputStream(encode(true, flushEachBuffer)))))
+                    .isEqualTo(CONTENT);
+            assertThat(read(new InflaterInputStream(new ByteArrayInputStream(encode(false, flushEachBuffer)))))
+                    .isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    public void shouldDecodeSplitGzipContent() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(CONTENT);
+        }
+        byte[] bytes = compressed.toByteArray();
+
+        Decoder decoder = new Decoder(true, Long.MAX_VALUE);
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        for (int i = 0; i < bytes.length; i += 7) {
+            write(decoded, decoder.decode(ByteBuffer.wrap(bytes, i, Math.min(7, bytes.length - i))));
+        }
+        write(decoded, decoder.finish());
+        assertThat(decoded.toByteArray()).isEqualTo(CONTENT);
+
+        Decoder truncated = new Decoder(true, Long.MAX_VALUE);
+        truncated.decode(ByteBuffer.wrap(bytes, 0, bytes.length - 4));
+        try {
+            truncated.finish();
+            throw new AssertionError("expected UncheckedIOException");
+        } catch (UncheckedIOException e) {
+            assertThat(e.getCause().getMessage()).contains("Truncated");
+        }
+    }
+
+    @Test
+    public void shouldFailOnceDecodedBeyondMaxSize() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(new byte[16 * 1024 * 1024]);
+        }
+        byte[] bytes = compressed.toByteArray();
+
+        Decoder decoder = new Decoder(true, 64 * 1024);
+        try {
+            decoder.decode(ByteBuffer.wrap(bytes));
+            throw new AssertionError("expected PayloadTooLargeException");
+        } catch (PayloadTooLargeException e) {
+            assertThat(e.maxSize).isEqualTo(64 * 1024L);
+        } finally {
+            decoder.discard();
+        }
+
+        Decoder exact = new Decoder(false, CONTENT.length);
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        write(decoded, exact.decode(ByteBuffer.wrap(encode(false, false))));
+        write(decoded, exact.finish());
+        assertThat(decoded.toByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void shouldSkipOptionalGzipHeaderFields() throws Exception {
+        byte[] header = { 0x1f, (byte) 0x8b, 8, 8 | 16, 0, 0, 0, 0, 0, 3, 'a', 0, 'b', 'c', 0, 42 };
+
+        assertThat(ContentCodings.gzipHeaderLength(header, 12)).isEqualTo(-1);
+        assertThat(ContentCodings.gzipHeaderLength(header, header.length)).isEqualTo(15);
+    }
+
+    private static byte[] encode(boolean gzip, boolean flushEachBuffer) {
+        Encoder encoder = new Encoder(gzip, flushEachBuffer);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < CONTENT.length; i += 1000) {
+            write(out, encoder.encode(ByteBuffer.wrap(CONTENT, i, Math.min(1000, CONTENT.length - i))));
+        }
+        write(out, encoder.finish());
+        return out.toByteArray();
+    }
+
+    private static void write(ByteArrayOutputStream out, ByteBuffer buffer) {
+        out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    }
+
+    private static byte[] read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] b = new byte[4096];
+        int n;
+        while ((n = in.read(b)) > 0) {
+            out.write(b, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] content() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            sb.append("{\"id\":").append(i).append(",\"name\":\"item ").append(i * 31 % 97).append("\"}\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,63 @@
+package io.primeval.saga.core.internal.router;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import io.primeval.saga.action.Action;
+import io.primeval.saga.core.test.rules.TestActionKey;
+import io.primeval.saga.http.protocol.HttpMethod;
+import io.primeval.saga.router.Route;
+import io.primeval.saga.router.RouterAction;
+
+public class RouteTrieTest {
+
+    @Test
+    public void shouldPreferStaticOverWildcardOverRegex() throws Exception {
+        RouterAction regex = routerAction(HttpMethod.GET, "items", "[0-9]+");
+        RouterAction wildcard = routerAction(HttpMethod.GET, "items", ".*");
+        RouterAction literal = routerAction(HttpMethod.GET, "items", "42");
+        RouteTrie trie = RouteTrie.build(ImmutableList.of(ImmutableList.of(regex, wildcard, literal)));
+
+        assertThat(trie.find(HttpMethod.GET, Arrays.asList("items", "42"))).isSameAs(literal);
+        assertThat(trie.find(HttpMethod.GET, Arrays.asList("items", "43"))).isSameAs(wildcard);
+    }
+
+    @Test
+    public void shouldBacktrackWhenBranchDeadEnds() throws Exception {
+        RouterAction literal = routerAction(HttpMethod.GET, "items", "new");
+        RouterAction wildcard = routerAction(HttpMethod.GET, "items", ".*", "edit");
+        RouterAction regex = routerAction(HttpMethod.GET, "items", "[a-z]+", "history");
+        RouteTrie trie = RouteTrie.build(ImmutableList.of(ImmutableList.of(literal), ImmutableList.of(wildcard, regex)));
+
+        assertThat(trie.find(HttpMethod.GET, Arrays.asList("items", "new"))).isSameAs(literal);
+        assertThat(trie.find(HttpMethod.GET, Arrays.asList("items", "new", "edit"))).isSameAs(wildcard);
+        assertThat(trie.find(HttpMethod.GET, Arrays.asList("items", "new", "history"))).isSameAs(regex);
+        assertThat(trie.find(HttpMethod.GET, Arrays.asList("items", "NEW", "history"))).isNull();
+    }
+
+    @Test
+    public void shouldMatchOnMethodAndDepth() throws Exception {
+        RouterAction get = routerAction(HttpMethod.GET, "hello");
+        RouterAction root = routerAction(HttpMethod.GET);
+        RouteTrie trie = RouteTrie.build(ImmutableList.of(ImmutableList.of(get, root)));
+
+        assertThat(trie.find(HttpMethod.GET, Arrays.asList("hello"))).isSameAs(get);
+        assertThat(trie.find(HttpMethod.GET, ImmutableList.of())).isSameAs(root);
+        assertThat(trie.find(HttpMethod.POST, Arrays.asList("hello"))).isNull();
+        assertThat(trie.find(HttpMethod.GET, Arrays.asList("hello", "world"))).isNull();
+        assertThat(RouteTrie.EMPTY.find(HttpMethod.GET, Arrays.asList("hello"))).isNull();
+    }
+
+    private static RouterAction routerAction(HttpMethod method, String... pathPattern) {
+        List<String> pattern = Arrays.asList(pathPattern);
+        Route route = Route.create(method, pattern);
+        return new RouterAction(route, new Action(new TestActionKey(route.toString()), context -> null));
+    }
+
+}
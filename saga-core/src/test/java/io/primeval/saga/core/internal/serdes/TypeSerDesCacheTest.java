@@ -0,0 +1,58 @@
+package io.primeval.saga.core.internal.serdes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Test;
+import org.osgi.util.promise.Promise;
+import org.osgi.util.promise.Promises;
+
+import io.primeval.common.type.TypeTag;
+import io.primeval.saga.renderer.MimeTypes;
+
+public class TypeSerDesCacheTest {
+
+    @Test
+    public void shouldPartitionEntriesByClassLoader() throws Exception {
+        TypeSerDesCache<Object> tested = new TypeSerDesCache<>();
+        TypeTag<Bean> typeTag = TypeTag.of(Bean.class);
+        Promise<Object> resolved = Promises.resolved(new Object());
+
+        tested.put(MimeTypes.JSON, typeTag, typeTag.getClassLoader(), resolved);
+
+        assertThat(tested.get(MimeTypes.JSON, typeTag, typeTag.getClassLoader())).isSameAs(resolved);
+        assertThat(tested.get(MimeTypes.TEXT, typeTag, typeTag.getClassLoader())).isNull();
+        assertThat(tested.get(MimeTypes.JSON, typeTag, null)).isNull();
+    }
+
+    @Test
+    public void shouldReleaseClassLoaders() throws Exception {
+        TypeSerDesCache<Object> tested = new TypeSerDesCache<>(false);
+        WeakReference<ClassLoader> classLoader = cacheFromIsolatedClassLoader(tested);
+
+        for (int i = 0; i < 50 && classLoader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertThat(classLoader.get()).isNull();
+    }
+
+    private static WeakReference<ClassLoader> cacheFromIsolatedClassLoader(TypeSerDesCache<Object> cache)
+            throws Exception {
+        URL classes = Bean.class.getProtectionDomain().getCodeSource().getLocation();
+        URLClassLoader classLoader = new URLClassLoader(new URL[] { classes }, null);
+        Class<?> beanClass = classLoader.loadClass(Bean.class.getName());
+        TypeTag<?> typeTag = TypeTag.of(beanClass);
+        // like a cached serializer, the value references the class loader.
+        cache.put(MimeTypes.JSON, typeTag, classLoader, Promises.resolved(beanClass));
+        assertThat(cache.get(MimeTypes.JSON, typeTag, classLoader)).isNotNull();
+        return new WeakReference<>(classLoader);
+    }
+
+    public static final class Bean {
+    }
+
+}
@@ -0,0 +1,96 @@
+package io.primeval.saga.core.internal.serdes.deserializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+
+import io.primeval.saga.http.shared.PayloadTooLargeException;
+
+public class PublisherInputStreamTest {
+
+    @Test
+    public void shouldReadBuffersAsTheyArrive() throws Exception {
+        PublisherInputStream tested = new PublisherInputStream(1024);
+        CountingSubscription subscription = new CountingSubscription();
+        tested.onSubscribe(subscription);
+
+        tested.onNext(buffer("[1,"));
+        tested.onNext(buffer("2]"));
+        tested.onComplete();
+
+        assertThat(readAll(tested)).isEqualTo("[1,2]");
+        assertThat(subscription.cancelled).isFalse();
+    }
+
+    @Test
+    public void shouldFailFastPastMaxSize() throws Exception {
+        PublisherInputStream tested = new PublisherInputStream(4);
+        CountingSubscription subscription = new CountingSubscription();
+        tested.onSubscribe(subscription);
+
+        tested.onNext(buffer("[1,"));
+        tested.onNext(buffer("2]"));
+
+        assertThat(subscription.cancelled).isTrue();
+        try {
+            readAll(tested);
+            throw new AssertionError("expected PayloadTooLargeException");
+        } catch (PayloadTooLargeException e) {
+            assertThat(e.maxSize).isEqualTo(4L);
+        }
+    }
+
+    @Test
+    public void shouldFailWhenMoreBuffersArriveThanRequested() throws Exception {
+        PublisherInputStream tested = new PublisherInputStream(1024);
+        CountingSubscription subscription = new CountingSubscription();
+        tested.onSubscribe(subscription);
+
+        for (int i = 0; i < 17; i++) {
+            tested.onNext(buffer("1"));
+        }
+
+        assertThat(subscription.cancelled).isTrue();
+        try {
+            readAll(tested);
+            throw new AssertionError("expected IOException");
+        } catch (IOException e) {
+            assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    private static ByteBuffer buffer(String s) {
+        return ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readAll(PublisherInputStream in) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] b = new byte[2];
+        int n;
+        while ((n = in.read(b, 0, b.length)) != -1) {
+            out.write(b, 0, n);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static final class CountingSubscription implements Subscription {
+
+        private boolean cancelled;
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+}
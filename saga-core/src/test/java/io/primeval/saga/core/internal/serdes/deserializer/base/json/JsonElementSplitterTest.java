@@ -0,0 +1,88 @@
+package io.primeval.saga.core.internal.serdes.deserializer.base.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.primeval.saga.core.internal.serdes.deserializer.base.json.JsonElementSplitter.Format;
+import io.primeval.saga.http.shared.PayloadTooLargeException;
+
+public class JsonElementSplitterTest {
+
+    @Test
+    public void shouldSplitArrayAcrossBuffers() throws Exception {
+        JsonElementSplitter tested = new JsonElementSplitter(Format.ARRAY, 1024);
+
+        List<String> elements = split(tested, " [ {\"a\": [1, \"],\\\"\"]}", ", 2 ,\"x,y\"", ",[3,[4]] ] ");
+
+        assertThat(elements).containsExactly("{\"a\": [1, \"],\\\"\"]}", "2 ", "\"x,y\"", "[3,[4]] ");
+    }
+
+    @Test
+    public void shouldSplitLines() throws Exception {
+        JsonElementSplitter tested = new JsonElementSplitter(Format.LINES, 1024);
+
+        List<String> elements = split(tested, "{\"a\":1}\n\n{\"a\"", ":2}\r\n{\"a\":3}");
+
+        assertThat(elements).containsExactly("{\"a\":1}", "{\"a\":2}\r", "{\"a\":3}");
+    }
+
+    @Test
+    public void shouldRejectUnterminatedArray() throws Exception {
+        JsonElementSplitter tested = new JsonElementSplitter(Format.ARRAY, 1024);
+        try {
+            split(tested, "[1,2");
+            throw new AssertionError("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Unterminated JSON array");
+        }
+    }
+
+    @Test
+    public void shouldRejectTrailingComma() throws Exception {
+        JsonElementSplitter tested = new JsonElementSplitter(Format.ARRAY, 1024);
+        try {
+            split(tested, "[1,", " ]");
+            throw new AssertionError("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Missing JSON array element");
+        }
+    }
+
+    @Test
+    public void shouldSplitEmptyArray() throws Exception {
+        JsonElementSplitter tested = new JsonElementSplitter(Format.ARRAY, 1024);
+
+        assertThat(split(tested, "[ ", "]")).isEmpty();
+    }
+
+    @Test
+    public void shouldLimitElementSize() throws Exception {
+        JsonElementSplitter tested = new JsonElementSplitter(Format.ARRAY, 4);
+        try {
+            split(tested, "[1,12345]");
+            throw new AssertionError("expected PayloadTooLargeException");
+        } catch (PayloadTooLargeException e) {
+            assertThat(e.maxSize).isEqualTo(4L);
+        }
+    }
+
+    private static List<String> split(JsonElementSplitter splitter, String... chunks) {
+        List<String> elements = new ArrayList<>();
+        for (String chunk : chunks) {
+            for (byte[] element : splitter.feed(ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8)))) {
+                elements.add(new String(element, StandardCharsets.UTF_8));
+            }
+        }
+        for (byte[] element : splitter.finish()) {
+            elements.add(new String(element, StandardCharsets.UTF_8));
+        }
+        return elements;
+    }
+
+}
@@ -0,0 +1,72 @@
+package io.primeval.saga.core.internal.serdes.deserializer.base.text;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.OptionalLong;
+
+import org.junit.Test;
+
+public class StringDecoderTest {
+
+    private static final String TEXT = "first line\r\nsecond line: caf\u00e9 \u20ac \ud83d\ude00\nlast";
+
+    @Test
+    public void shouldPreserveSingleBufferContent() throws Exception {
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(decode(StandardCharsets.UTF_8, OptionalLong.of(bytes.length), ByteBuffer.wrap(bytes)))
+                .isEqualTo(TEXT);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        assertThat(decode(StandardCharsets.UTF_8, OptionalLong.empty(), direct)).isEqualTo(TEXT);
+        assertThat(decode(StandardCharsets.UTF_8, OptionalLong.of(0))).isEmpty();
+    }
+
+    @Test
+    public void shouldDecodeCharactersSplitAcrossBuffers() throws Exception {
+        for (Charset charset : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.UTF_16 }) {
+            byte[] bytes = TEXT.getBytes(charset);
+            ByteBuffer[] buffers = new ByteBuffer[bytes.length];
+            for (int i = 0; i < bytes.length; i++) {
+                buffers[i] = ByteBuffer.wrap(bytes, i, 1);
+            }
+
+            assertThat(decode(charset, OptionalLong.of(bytes.length), buffers)).isEqualTo(TEXT);
+            assertThat(decode(charset, OptionalLong.of(1), buffers)).isEqualTo(TEXT); // wrong size hint
+        }
+    }
+
+    @Test
+    public void shouldNotTrustHugeSizeHints() throws Exception {
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer[] buffers = { ByteBuffer.wrap(bytes, 0, 10), ByteBuffer.wrap(bytes, 10, bytes.length - 10) };
+
+        // would otherwise allocate 2^31 chars
+        assertThat(decode(StandardCharsets.UTF_8, OptionalLong.of(Integer.MAX_VALUE), buffers)).isEqualTo(TEXT);
+    }
+
+    @Test
+    public void shouldGrowBeyondTheInitialCapacity() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 200_000) {
+            sb.append(TEXT);
+        }
+        String text = sb.toString();
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer[] buffers = { ByteBuffer.wrap(bytes, 0, 7), ByteBuffer.wrap(bytes, 7, bytes.length - 7) };
+
+        assertThat(decode(StandardCharsets.UTF_8, OptionalLong.of(bytes.length), buffers)).isEqualTo(text);
+    }
+
+    private static String decode(Charset charset, OptionalLong contentLength, ByteBuffer... buffers) {
+        StringDecoder decoder = new StringDecoder(charset, contentLength);
+        for (ByteBuffer buffer : buffers) {
+            decoder.feed(buffer);
+        }
+        return decoder.finish();
+    }
+
+}
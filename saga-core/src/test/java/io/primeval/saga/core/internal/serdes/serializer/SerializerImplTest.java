@@ -0,0 +1,134 @@
+package io.primeval.saga.core.internal.serdes.serializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleEvent;
+import org.osgi.util.promise.Promise;
+import org.osgi.util.promise.Promises;
+
+import com.google.common.collect.ImmutableSet;
+
+import io.primeval.common.type.TypeTag;
+import io.primeval.saga.http.shared.Payload;
+import io.primeval.saga.renderer.MimeTypes;
+import io.primeval.saga.serdes.serializer.spi.MediaSerializer;
+import io.primeval.saga.serdes.serializer.spi.TypeSerializer;
+
+public class SerializerImplTest {
+
+    private static final TypeTag<String> STRING = TypeTag.of(String.class);
+    private static final TypeTag<Integer> INTEGER = TypeTag.of(Integer.class);
+
+    private SerializerImpl tested;
+    private CountingMediaSerializer json;
+
+    @Before
+    public void setUp() throws Exception {
+        tested = new SerializerImpl();
+        json = new CountingMediaSerializer(String.class, Integer.class);
+        tested.addMimeTypeSerializer(MimeTypes.JSON, json);
+    }
+
+    @Test
+    public void shouldCountNegotiationHitsAndMisses() throws Exception {
+        assertThat(tested.negotiateMediaType(STRING, MimeTypes.JSON).getValue()).isEqualTo(MimeTypes.JSON);
+        int lookups = json.lookups.get();
+        assertThat(tested.negotiateMediaType(STRING, MimeTypes.JSON).getValue()).isEqualTo(MimeTypes.JSON);
+
+        assertThat(json.lookups.get()).isEqualTo(lookups);
+        assertThat(tested.negotiationCacheMisses()).isEqualTo(1);
+        assertThat(tested.negotiationCacheHits()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldKeyNegotiationsByTypeAndNormalizedAcceptHeader() throws Exception {
+        tested.negotiateMediaType(STRING, "application/json, text/plain;q=0.5").getValue();
+        tested.negotiateMediaType(STRING, "Application/JSON,text/plain; q=0.5").getValue();
+        assertThat(tested.negotiationCacheHits()).isEqualTo(1);
+
+        tested.negotiateMediaType(STRING, "*/*").getValue();
+        tested.negotiateMediaType(INTEGER, "application/json, text/plain;q=0.5").getValue();
+        assertThat(tested.negotiationCacheMisses()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldRenegotiateWhenSerializersChange() throws Exception {
+        String accept = "text/plain, application/json;q=0.5";
+        CountingMediaSerializer text = new CountingMediaSerializer(String.class);
+
+        assertThat(tested.negotiateMediaType(STRING, accept).getValue()).isEqualTo(MimeTypes.JSON);
+
+        tested.addMimeTypeSerializer(MimeTypes.TEXT, text);
+        assertThat(tested.negotiateMediaType(STRING, accept).getValue()).isEqualTo(MimeTypes.TEXT);
+
+        tested.removeMimeTypeSerializer(MimeTypes.TEXT, text);
+        assertThat(tested.negotiateMediaType(STRING, accept).getValue()).isEqualTo(MimeTypes.JSON);
+        assertThat(tested.negotiationCacheHits()).isEqualTo(0);
+        assertThat(tested.negotiationCacheMisses()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldCacheSerializations() throws Exception {
+        TypeSerializer<String> first = tested.serialization(STRING, MimeTypes.JSON).getValue();
+        TypeSerializer<String> second = tested.serialization(STRING, MimeTypes.JSON).getValue();
+
+        assertThat(second).isSameAs(first);
+        assertThat(json.lookups.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldDropSerializationsWhenSerializersChange() throws Exception {
+        CountingMediaSerializer text = new CountingMediaSerializer(String.class);
+        tested.serialization(STRING, MimeTypes.JSON).getValue();
+
+        tested.addMimeTypeSerializer(MimeTypes.TEXT, text);
+        tested.serialization(STRING, MimeTypes.JSON).getValue();
+        assertThat(json.lookups.get()).isEqualTo(2);
+
+        tested.removeMimeTypeSerializer(MimeTypes.TEXT, text);
+        tested.serialization(STRING, MimeTypes.JSON).getValue();
+        assertThat(json.lookups.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldDropSerializationsWhenABundleIsUnresolved() throws Exception {
+        Bundle bundle = (Bundle) Proxy.newProxyInstance(Bundle.class.getClassLoader(), new Class<?>[] { Bundle.class },
+                (proxy, method, args) -> null);
+        tested.serialization(STRING, MimeTypes.JSON).getValue();
+
+        tested.bundleChanged(new BundleEvent(BundleEvent.RESOLVED, bundle));
+        tested.serialization(STRING, MimeTypes.JSON).getValue();
+        assertThat(json.lookups.get()).isEqualTo(1);
+
+        tested.bundleChanged(new BundleEvent(BundleEvent.UNRESOLVED, bundle));
+        tested.serialization(STRING, MimeTypes.JSON).getValue();
+        assertThat(json.lookups.get()).isEqualTo(2);
+    }
+
+    private static final class CountingMediaSerializer implements MediaSerializer {
+
+        private final Set<Class<?>> supported;
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        CountingMediaSerializer(Class<?>... supported) {
+            this.supported = ImmutableSet.copyOf(supported);
+        }
+
+        @Override
+        public <T> Promise<TypeSerializer<T>> typeSerializer(TypeTag<? extends T> typeTag) {
+            lookups.incrementAndGet();
+            if (!supported.contains(typeTag.rawType())) {
+                return Promises.failed(new IllegalArgumentException("unsupported " + typeTag));
+            }
+            return Promises.resolved((object, mediaType, options) -> Promises.resolved(Payload.EMPTY));
+        }
+    }
+
+}
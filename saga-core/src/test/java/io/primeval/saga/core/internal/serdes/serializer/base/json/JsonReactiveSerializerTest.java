@@ -0,0 +1,121 @@
+package io.primeval.saga.core.internal.serdes.serializer.base.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import com.google.common.collect.ImmutableMap;
+
+import io.primeval.common.type.TypeTag;
+import io.primeval.json.jackson.test.rules.WithJacksonMapper;
+import io.primeval.saga.core.test.rules.WithReactiveJsonSerDes;
+import io.primeval.saga.http.shared.Payload;
+import io.primeval.saga.renderer.MimeTypes;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class JsonReactiveSerializerTest {
+
+    private static final TypeTag<List<Integer>> LIST = new TypeTag<List<Integer>>() {
+    };
+
+    public static final WithJacksonMapper wJacksonMapper = new WithJacksonMapper(Collections.emptyList());
+    public static final WithReactiveJsonSerDes wJsonSerDes = new WithReactiveJsonSerDes(wJacksonMapper);
+
+    @ClassRule
+    public static RuleChain chain = RuleChain.outerRule(wJacksonMapper).around(wJsonSerDes);
+
+    @Test
+    public void shouldWriteSmallCollectionsAtOnce() throws Exception {
+        Payload payload = serialize(range(3), LIST, MimeTypes.JSON);
+
+        assertThat(payload.contentLength.getAsLong()).isEqualTo(7L);
+        assertThat(content(payload)).isEqualTo("[0,1,2]");
+    }
+
+    @Test
+    public void shouldStreamLargeCollections() throws Exception {
+        List<Integer> elements = range(256);
+        Payload payload = serialize(elements, LIST, MimeTypes.JSON);
+
+        assertThat(payload.contentLength.isPresent()).isFalse();
+        assertThat(content(payload)).isEqualTo(array(elements));
+    }
+
+    @Test
+    public void shouldWriteCollectionsAsLinesOnBothSidesOfTheThreshold() throws Exception {
+        for (int size : new int[] { 1, 255, 256, 300 }) {
+            List<Integer> elements = range(size);
+            assertThat(content(serialize(elements, LIST, MimeTypes.NDJSON))).isEqualTo(lines(elements));
+        }
+    }
+
+    @Test
+    public void shouldWriteEmptyCollections() throws Exception {
+        assertThat(content(serialize(Collections.emptyList(), LIST, MimeTypes.JSON))).isEqualTo("[]");
+        assertThat(content(serialize(Collections.emptyList(), LIST, MimeTypes.NDJSON))).isEmpty();
+        assertThat(content(serialize(Flux.empty(), new TypeTag<Flux<Integer>>() {
+        }, MimeTypes.JSON))).isEqualTo("[]");
+        assertThat(content(serialize(Flux.empty(), new TypeTag<Flux<Integer>>() {
+        }, MimeTypes.NDJSON))).isEmpty();
+    }
+
+    @Test
+    public void shouldWritePublishersAndStreams() throws Exception {
+        TypeTag<Flux<Integer>> fluxType = new TypeTag<Flux<Integer>>() {
+        };
+        TypeTag<Stream<Integer>> streamType = new TypeTag<Stream<Integer>>() {
+        };
+
+        assertThat(content(serialize(Flux.range(0, 3), fluxType, MimeTypes.JSON))).isEqualTo("[0,1,2]");
+        assertThat(content(serialize(Flux.range(0, 3), fluxType, MimeTypes.NDJSON))).isEqualTo("0\n1\n2\n");
+        assertThat(content(serialize(Stream.of(0, 1, 2), streamType, MimeTypes.JSON))).isEqualTo("[0,1,2]");
+        assertThat(content(serialize(Stream.of(0, 1, 2), streamType, MimeTypes.NDJSON))).isEqualTo("0\n1\n2\n");
+    }
+
+    @Test
+    public void shouldWriteMonos() throws Exception {
+        TypeTag<Mono<Integer>> monoType = new TypeTag<Mono<Integer>>() {
+        };
+
+        assertThat(content(serialize(Mono.just(42), monoType, MimeTypes.JSON))).isEqualTo("42");
+        assertThat(content(serialize(Mono.just(42), monoType, MimeTypes.NDJSON))).isEqualTo("42\n");
+        assertThat(content(serialize(Mono.empty(), monoType, MimeTypes.JSON))).isEmpty();
+    }
+
+    private <T> Payload serialize(T object, TypeTag<T> typeTag, String mediaType) throws Exception {
+        JsonReactiveSerializer tested = wJsonSerDes.getJsonReactiveSerializer();
+        return tested.typeSerializer(typeTag).getValue().serialize(object, mediaType, ImmutableMap.of()).getValue();
+    }
+
+    private static String content(Payload payload) {
+        StringBuilder sb = new StringBuilder();
+        for (ByteBuffer buffer : Flux.from(payload.content).toIterable()) {
+            sb.append(StandardCharsets.UTF_8.decode(buffer));
+        }
+        return sb.toString();
+    }
+
+    private static List<Integer> range(int size) {
+        return IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
+    private static String array(List<Integer> elements) {
+        return elements.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static String lines(List<Integer> elements) {
+        return elements.stream().map(i -> i + "\n").collect(Collectors.joining());
+    }
+
+}
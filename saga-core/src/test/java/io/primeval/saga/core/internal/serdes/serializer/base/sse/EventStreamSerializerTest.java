@@ -0,0 +1,40 @@
+package io.primeval.saga.core.internal.serdes.serializer.base.sse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import io.primeval.saga.sse.ServerSentEvent;
+
+public class EventStreamSerializerTest {
+
+    @Test
+    public void shouldFrameEvents() throws Exception {
+        assertThat(frame(ServerSentEvent.of(null), "{\"a\":1}")).isEqualTo("data: {\"a\":1}\n\n");
+        assertThat(frame(ServerSentEvent.of("42", "update", null), "")).isEqualTo("id: 42\nevent: update\ndata: \n\n");
+    }
+
+    @Test
+    public void shouldSplitDataLines() throws Exception {
+        assertThat(frame(ServerSentEvent.of(null), "one\ntwo\r\nthree\rfour\n"))
+                .isEqualTo("data: one\ndata: two\ndata: three\ndata: four\ndata: \n\n");
+    }
+
+    @Test
+    public void shouldRejectMultilineIds() throws Exception {
+        try {
+            ServerSentEvent.of("4\n2", null);
+            throw new AssertionError("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).contains("several lines");
+        }
+    }
+
+    private static String frame(ServerSentEvent<?> event, String data) {
+        return new String(EventStreamSerializer.frame(event, data.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8);
+    }
+
+}
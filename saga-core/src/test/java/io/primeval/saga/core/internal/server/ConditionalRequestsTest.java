@@ -0,0 +1,185 @@
+package io.primeval.saga.core.internal.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import io.primeval.saga.http.protocol.HeaderNames;
+import io.primeval.saga.http.protocol.HttpHost;
+import io.primeval.saga.http.protocol.HttpMethod;
+import io.primeval.saga.http.protocol.HttpRequest;
+import io.primeval.saga.http.protocol.Status;
+import io.primeval.saga.http.shared.Payload;
+import io.primeval.saga.renderer.MimeTypes;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ConditionalRequestsTest {
+
+    private final ConditionalRequests tested = ConditionalRequests.DISABLED;
+
+    @Test
+    public void shouldAnswerMatchingSuppliedEtagWithNotModified() throws Exception {
+        Map<String, List<String>> headers = ImmutableMap.of("ETag", ImmutableList.of("\"v2\""),
+                HeaderNames.CONTENT_LENGTH, ImmutableList.of("42"));
+
+        PayloadResult notModified = tested.notModified(request(HttpMethod.GET, "\"v1\", W/\"v2\""), Status.OK,
+                headers);
+
+        assertThat(notModified).isNotNull();
+        assertThat(notModified.status).isEqualTo(Status.NOT_MODIFIED);
+        assertThat(notModified.payload.contentLength.getAsLong()).isEqualTo(0L);
+        assertThat(notModified.headers.keySet()).containsExactly("ETag");
+        assertThat(tested.notModified(request(HttpMethod.GET, "*"), Status.OK, headers)).isNotNull();
+    }
+
+    @Test
+    public void shouldServeOtherwise() throws Exception {
+        Map<String, List<String>> headers = ImmutableMap.of(HeaderNames.ETAG, ImmutableList.of("\"v2\""));
+
+        assertThat(tested.notModified(request(HttpMethod.GET, "\"v1\""), Status.OK, headers)).isNull();
+        assertThat(tested.notModified(request(HttpMethod.POST, "\"v2\""), Status.OK, headers)).isNull();
+        assertThat(tested.notModified(request(HttpMethod.GET, "\"v2\""), Status.NOT_FOUND, headers)).isNull();
+        assertThat(tested.notModified(request(HttpMethod.GET, "\"v2\""), Status.OK, Collections.emptyMap()))
+                .isNull();
+    }
+
+    @Test
+    public void shouldHashContentIntoStrongEtag() throws Exception {
+        String etag = ConditionalRequests.strongEtag(ByteBuffer.wrap("hello".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        assertThat(ConditionalRequests.strongEtag(ByteBuffer.wrap("hello".getBytes(StandardCharsets.UTF_8))))
+                .isEqualTo(etag);
+        assertThat(ConditionalRequests.strongEtag(ByteBuffer.wrap("hellO".getBytes(StandardCharsets.UTF_8))))
+                .isNotEqualTo(etag);
+    }
+
+    @Test
+    public void shouldTagPayloadsUpToMaxSize() throws Exception {
+        ConditionalRequests conditionalRequests = new ConditionalRequests(5, ResponseCompression.DISABLED);
+        HttpRequest request = new HttpRequest(new HttpHost("http", "localhost", 80), HttpMethod.GET, "/",
+                ImmutableList.of(), Collections.emptyMap(), Collections.emptyMap());
+
+        PayloadResult tagged = conditionalRequests.apply(request, result("hello")).getValue();
+        assertThat(tagged.status).isEqualTo(Status.OK);
+        assertThat(tagged.headers.get(HeaderNames.ETAG)).containsExactly(etag("hello"));
+        assertThat(content(tagged.payload)).isEqualTo("hello");
+
+        PayloadResult tooLarge = result("hello!");
+        assertThat(conditionalRequests.apply(request, tooLarge).getValue()).isSameAs(tooLarge);
+        PayloadResult unknownLength = new PayloadResult(Status.OK, Payload.stream(Mono.empty()), ImmutableMap.of());
+        assertThat(conditionalRequests.apply(request, unknownLength).getValue()).isSameAs(unknownLength);
+        PayloadResult untagged = result("hello");
+        assertThat(tested.apply(request, untagged).getValue()).isSameAs(untagged);
+    }
+
+    @Test
+    public void shouldAnswerMatchingComputedEtagWithNotModified() throws Exception {
+        ConditionalRequests conditionalRequests = new ConditionalRequests(1024, ResponseCompression.DISABLED);
+
+        PayloadResult notModified = conditionalRequests.apply(request(HttpMethod.GET, etag("hello")), result("hello"))
+                .getValue();
+
+        assertThat(notModified.status).isEqualTo(Status.NOT_MODIFIED);
+        assertThat(notModified.payload.contentLength.getAsLong()).isEqualTo(0L);
+        assertThat(notModified.headers.get(HeaderNames.ETAG)).containsExactly(etag("hello"));
+        assertThat(notModified.headers).doesNotContainKey(HeaderNames.CONTENT_LENGTH);
+        assertThat(conditionalRequests.apply(request(HttpMethod.GET, etag("hellO")), result("hello")).getValue()
+                .status).isEqualTo(Status.OK);
+    }
+
+    @Test
+    public void shouldAnswerWithTheHeadersOfCompressedResponses() throws Exception {
+        ResponseCompression compression = new ResponseCompression(0, new String[] { MimeTypes.JSON });
+        ConditionalRequests conditionalRequests = new ConditionalRequests(1024, compression);
+        String weakEtag = "W/" + etag("hello"); // as sent with the compressed response
+
+        PayloadResult computed = conditionalRequests.apply(request(weakEtag, "gzip"), result("hello")).getValue();
+        assertThat(computed.status).isEqualTo(Status.NOT_MODIFIED);
+        assertThat(computed.headers.get(HeaderNames.ETAG)).containsExactly(weakEtag);
+        assertThat(computed.headers.get(HeaderNames.VARY)).containsExactly(HeaderNames.ACCEPT_ENCODING);
+
+        Map<String, List<String>> headers = ImmutableMap.of(HeaderNames.ETAG, ImmutableList.of("\"v2\""),
+                HeaderNames.CONTENT_TYPE, ImmutableList.of(MimeTypes.JSON));
+        PayloadResult supplied = conditionalRequests.notModified(request("W/\"v2\"", "gzip"), Status.OK, headers);
+        assertThat(supplied.headers.get(HeaderNames.ETAG)).containsExactly("W/\"v2\"");
+        assertThat(supplied.headers.get(HeaderNames.VARY)).containsExactly(HeaderNames.ACCEPT_ENCODING);
+        assertThat(conditionalRequests.notModified(request("\"v2\"", "identity"), Status.OK, headers).headers)
+                .doesNotContainKey(HeaderNames.VARY);
+    }
+
+    @Test
+    public void shouldWaitForSerializationWhenCompressionDependsOnIt() throws Exception {
+        ResponseCompression compression = new ResponseCompression(1024, new String[] { MimeTypes.JSON });
+        ConditionalRequests conditionalRequests = new ConditionalRequests(HttpServerConfig.NO_ETAGS, compression);
+        Map<String, List<String>> headers = ImmutableMap.of(HeaderNames.ETAG, ImmutableList.of("\"v2\""),
+                HeaderNames.CONTENT_TYPE, ImmutableList.of(MimeTypes.JSON));
+
+        // depends on the serialized length
+        assertThat(conditionalRequests.notModified(request("\"v2\"", "gzip"), Status.OK, headers)).isNull();
+        // depends on the negotiated content type
+        assertThat(conditionalRequests.notModified(request("\"v2\"", "gzip"), Status.OK,
+                ImmutableMap.of(HeaderNames.ETAG, ImmutableList.of("\"v2\"")))).isNull();
+        assertThat(conditionalRequests.notModified(request("\"v2\"", "identity"), Status.OK, headers)).isNotNull();
+    }
+
+    @Test
+    public void shouldDiscardPayloadAnsweredWithNotModified() throws Exception {
+        Path path = Files.createTempFile("saga", ".txt");
+        try {
+            Files.write(path, "hello".getBytes(StandardCharsets.UTF_8));
+            Payload payload = Payload.ofFile(path);
+            PayloadResult result = new PayloadResult(Status.OK, payload,
+                    ImmutableMap.of(HeaderNames.ETAG, ImmutableList.of("\"v1\"")));
+
+            PayloadResult notModified = tested.apply(request(HttpMethod.GET, "\"v1\""), result).getValue();
+
+            assertThat(notModified.status).isEqualTo(Status.NOT_MODIFIED);
+            assertThat(payload.fileRegion.isClosed()).isTrue();
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static PayloadResult result(String content) {
+        byte[] b = content.getBytes(StandardCharsets.UTF_8);
+        return new PayloadResult(Status.OK, Payload.ofLength(b.length, Mono.just(ByteBuffer.wrap(b))),
+                ImmutableMap.of(HeaderNames.CONTENT_TYPE, ImmutableList.of(MimeTypes.JSON)));
+    }
+
+    private static String etag(String content) {
+        return ConditionalRequests.strongEtag(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String content(Payload payload) {
+        StringBuilder sb = new StringBuilder();
+        for (ByteBuffer buffer : Flux.from(payload.content).toIterable()) {
+            sb.append(StandardCharsets.UTF_8.decode(buffer));
+        }
+        return sb.toString();
+    }
+
+    private static HttpRequest request(HttpMethod method, String ifNoneMatch) {
+        return new HttpRequest(new HttpHost("http", "localhost", 80), method, "/", ImmutableList.of(),
+                Collections.emptyMap(), ImmutableMap.of(HeaderNames.IF_NONE_MATCH, ImmutableList.of(ifNoneMatch)));
+    }
+
+    private static HttpRequest request(String ifNoneMatch, String acceptEncoding) {
+        return new HttpRequest(new HttpHost("http", "localhost", 80), HttpMethod.GET, "/", ImmutableList.of(),
+                Collections.emptyMap(), ImmutableMap.of(HeaderNames.IF_NONE_MATCH, ImmutableList.of(ifNoneMatch),
+                        HeaderNames.ACCEPT_ENCODING, ImmutableList.of(acceptEncoding)));
+    }
+
+}
@@ -0,0 +1,162 @@
+package io.primeval.saga.core.internal.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.util.promise.Promise;
+
+import com.google.common.collect.ImmutableList;
+
+import io.primeval.saga.action.Action;
+import io.primeval.saga.action.ActionFunction;
+import io.primeval.saga.action.Context;
+import io.primeval.saga.action.DispatchMode;
+import io.primeval.saga.action.Result;
+import io.primeval.saga.core.test.rules.TestActionKey;
+import io.primeval.saga.http.protocol.HttpHost;
+import io.primeval.saga.http.protocol.HttpMethod;
+import io.primeval.saga.http.protocol.HttpRequest;
+import io.primeval.saga.router.Route;
+import io.primeval.saga.router.RouterAction;
+import io.primeval.saga.router.RouterMatch;
+import io.primeval.saga.router.filter.RouteFilterProvider;
+
+public class HttpServerEventHandlerTest {
+
+    private CountingFilter routeFilter;
+    private CountingFilter perRequestFilter;
+    private AtomicReference<RouteFilterChains> chains;
+    private HttpServerEventHandler tested;
+
+    @Before
+    public void setUp() throws Exception {
+        routeFilter = new CountingFilter(false);
+        perRequestFilter = new CountingFilter(true);
+        chains = new AtomicReference<>(new RouteFilterChains(ImmutableList.of(routeFilter, perRequestFilter)));
+        tested = new HttpServerEventHandler(null, null, chains::get, null, null, null, 0,
+                ConditionalRequests.DISABLED, ResponseCompression.DISABLED, null);
+    }
+
+    @Test
+    public void shouldReuseFilterChainForRoute() throws Exception {
+        RouterAction routerAction = routerAction("items", "{id}");
+
+        Action first = tested.getAction(request("/items/1"), RouterMatch.of(routerAction, path("items", "1")));
+        Action second = tested.getAction(request("/items/2"), RouterMatch.of(routerAction, path("items", "2")));
+
+        assertThat(second).isSameAs(first);
+        assertThat(routeFilter.matchesCalls.get()).isEqualTo(1);
+        assertThat(perRequestFilter.matchesCalls.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldDropFilterChainsWhenFiltersChange() throws Exception {
+        RouterAction routerAction = routerAction("items", "{id}");
+
+        Action first = tested.getAction(request("/items/1"), RouterMatch.of(routerAction, path("items", "1")));
+        chains.set(new RouteFilterChains(ImmutableList.of(routeFilter)));
+        Action second = tested.getAction(request("/items/1"), RouterMatch.of(routerAction, path("items", "1")));
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(routeFilter.matchesCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldMatchFiltersPerRequestByDefault() throws Exception {
+        AtomicInteger matchesCalls = new AtomicInteger();
+        RouteFilterProvider filter = new RouteFilterProvider() {
+            @Override
+            public Promise<Result<?>> call(Context context, ActionFunction function, Optional<Route> boundRoute) {
+                return function.apply(context);
+            }
+
+            @Override
+            public boolean matches(String uri) {
+                matchesCalls.incrementAndGet();
+                return true;
+            }
+        };
+        chains.set(new RouteFilterChains(ImmutableList.of(filter)));
+        RouterAction routerAction = routerAction("items", "{id}");
+
+        tested.getAction(request("/items/1"), RouterMatch.of(routerAction, path("items", "1")));
+
+        assertThat(filter.matchesPerRequest()).isTrue();
+        assertThat(matchesCalls.get()).isEqualTo(0); // left to each request
+    }
+
+    @Test
+    public void shouldFilterUnroutedRequestsEachTime() throws Exception {
+        tested.getAction(request("/nowhere"), null);
+        tested.getAction(request("/nowhere"), null);
+
+        assertThat(routeFilter.matchesCalls.get()).isEqualTo(2);
+        assertThat(perRequestFilter.matchesCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldRunInlineActionsOnCallingThread() throws Exception {
+        Route route = Route.create(HttpMethod.GET, ImmutableList.of("fast"));
+        TestActionKey actionKey = new TestActionKey("fast");
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        RouterAction routerAction = new RouterAction(route, new Action(actionKey, context -> {
+            ranOn.set(Thread.currentThread());
+            return null;
+        }, DispatchMode.INLINE));
+        chains.set(RouteFilterChains.EMPTY);
+
+        Action action = tested.getAction(request("/fast"), RouterMatch.of(routerAction, path("fast")));
+        action.function.apply(null);
+
+        assertThat(ranOn.get()).isSameAs(Thread.currentThread());
+        assertThat(tested.exceededInlineBudget(actionKey)).isTrue(); // any run reaches a zero budget
+    }
+
+    private static RouterAction routerAction(String... pathPattern) {
+        Route route = Route.create(HttpMethod.GET, ImmutableList.copyOf(pathPattern));
+        return new RouterAction(route, new Action(new TestActionKey(route.toString()), context -> null));
+    }
+
+    private static List<String> path(String... segments) {
+        return ImmutableList.copyOf(segments);
+    }
+
+    private static HttpRequest request(String uri) {
+        return new HttpRequest(new HttpHost("http", "localhost", 80), HttpMethod.GET, uri,
+                ImmutableList.of(), Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    private static final class CountingFilter implements RouteFilterProvider {
+
+        private final boolean matchesPerRequest;
+        private final AtomicInteger matchesCalls = new AtomicInteger();
+
+        CountingFilter(boolean matchesPerRequest) {
+            this.matchesPerRequest = matchesPerRequest;
+        }
+
+        @Override
+        public Promise<Result<?>> call(Context context, ActionFunction function, Optional<Route> boundRoute) {
+            return function.apply(context);
+        }
+
+        @Override
+        public boolean matches(String uri) {
+            matchesCalls.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public boolean matchesPerRequest() {
+            return matchesPerRequest;
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package io.primeval.saga.core.internal.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.osgi.util.promise.Deferred;
+import org.osgi.util.promise.Promise;
+import org.osgi.util.promise.Promises;
+import org.reactivestreams.Publisher;
+
+import com.google.common.collect.ImmutableList;
+
+import io.primeval.saga.http.server.spi.HttpServerEvent;
+import io.primeval.saga.http.server.spi.HttpServerProvider;
+import io.primeval.saga.http.shared.provider.ProviderProperties;
+import reactor.core.publisher.Flux;
+
+public class HttpServerImplTest {
+
+    @Test
+    public void shouldSubscribeToEveryEventStream() throws Exception {
+        TestServerProvider provider = new TestServerProvider(3);
+        HttpServerImpl tested = new HttpServerImpl();
+        tested.setHttpServerProvider(provider, new ProviderProperties("test"));
+        tested.activate();
+
+        tested.start(0);
+        assertThat(provider.subscriptions.get()).isEqualTo(0);
+        provider.started.resolve(null);
+        assertThat(provider.subscriptions.get()).isEqualTo(3);
+
+        tested.stop();
+        assertThat(provider.cancellations.get()).isEqualTo(3);
+    }
+
+    private static final class TestServerProvider implements HttpServerProvider {
+        private final Deferred<Void> started = new Deferred<>();
+        private final AtomicInteger subscriptions = new AtomicInteger();
+        private final AtomicInteger cancellations = new AtomicInteger();
+        private final List<Publisher<HttpServerEvent>> eventStreams;
+
+        TestServerProvider(int count) {
+            ImmutableList.Builder<Publisher<HttpServerEvent>> bldr = ImmutableList.builder();
+            for (int i = 0; i < count; i++) {
+                bldr.add(Flux.<HttpServerEvent> never()
+                        .doOnSubscribe(s -> subscriptions.incrementAndGet())
+                        .doOnCancel(cancellations::incrementAndGet));
+            }
+            this.eventStreams = bldr.build();
+        }
+
+        @Override
+        public Promise<Void> stop() {
+            return Promises.resolved(null);
+        }
+
+        @Override
+        public Promise<Void> start(int port) {
+            return started.getPromise();
+        }
+
+        @Override
+        public Publisher<HttpServerEvent> eventStream() {
+            return eventStreams.get(0);
+        }
+
+        @Override
+        public List<Publisher<HttpServerEvent>> eventStreams() {
+            return eventStreams;
+        }
+
+        @Override
+        public Promise<Integer> port() {
+            return Promises.resolved(0);
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package io.primeval.saga.core.internal.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import io.primeval.saga.http.protocol.HeaderNames;
+import io.primeval.saga.http.protocol.HttpHost;
+import io.primeval.saga.http.protocol.HttpMethod;
+import io.primeval.saga.http.protocol.HttpRequest;
+import io.primeval.saga.http.protocol.Status;
+import io.primeval.saga.http.shared.Payload;
+import io.primeval.saga.renderer.MimeTypes;
+
+public class ResponseCompressionTest {
+
+    private final ResponseCompression tested = new ResponseCompression(1024,
+            new String[] { "text/*", MimeTypes.JSON });
+
+    @Test
+    public void shouldCompressLargeCompressibleResponses() throws Exception {
+        HttpRequest request = request("gzip, deflate");
+
+        assertThat(tested.coding(request, result(Status.OK, MimeTypes.JSON, 4096))).isEqualTo("gzip");
+        assertThat(tested.coding(request, result(Status.OK, MimeTypes.CSS, -1))).isEqualTo("gzip");
+        assertThat(tested.coding(request("deflate"), result(Status.OK, MimeTypes.JSON, 4096))).isEqualTo("deflate");
+    }
+
+    @Test
+    public void shouldNotCompressOtherResponses() throws Exception {
+        HttpRequest request = request("gzip");
+
+        assertThat(tested.coding(request, result(Status.OK, MimeTypes.JSON, 100))).isNull();
+        assertThat(tested.coding(request, result(Status.OK, "image/png", 4096))).isNull();
+        assertThat(tested.coding(request, result(Status.NO_CONTENT, MimeTypes.JSON, -1))).isNull();
+        assertThat(tested.coding(request("identity"), result(Status.OK, MimeTypes.JSON, 4096))).isNull();
+        assertThat(ResponseCompression.DISABLED.coding(request, result(Status.OK, MimeTypes.JSON, 4096))).isNull();
+    }
+
+    private static PayloadResult result(int status, String contentType, long length) {
+        Payload payload = length < 0 ? Payload.stream(null) : Payload.ofLength(length, null);
+        Map<String, List<String>> headers = ImmutableMap.of(HeaderNames.CONTENT_TYPE,
+                ImmutableList.of(contentType));
+        return new PayloadResult(status, payload, headers);
+    }
+
+    private static HttpRequest request(String acceptEncoding) {
+        return new HttpRequest(new HttpHost("http", "localhost", 80), HttpMethod.GET, "/", ImmutableList.of(),
+                Collections.emptyMap(), ImmutableMap.of(HeaderNames.ACCEPT_ENCODING, ImmutableList.of(acceptEncoding)));
+    }
+
+}
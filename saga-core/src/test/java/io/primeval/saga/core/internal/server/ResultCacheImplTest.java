@@ -0,0 +1,223 @@
+package io.primeval.saga.core.internal.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.util.promise.Promise;
+import org.osgi.util.promise.Promises;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import io.primeval.saga.action.Action;
+import io.primeval.saga.action.Context;
+import io.primeval.saga.action.DispatchMode;
+import io.primeval.saga.action.Result;
+import io.primeval.saga.core.internal.action.ContextImpl;
+import io.primeval.saga.core.test.rules.TestActionKey;
+import io.primeval.saga.http.protocol.HttpHost;
+import io.primeval.saga.http.protocol.HttpMethod;
+import io.primeval.saga.http.protocol.HttpRequest;
+import io.primeval.saga.http.protocol.HttpResponse;
+import io.primeval.saga.http.protocol.Status;
+import io.primeval.saga.http.server.spi.HttpServerEvent;
+import io.primeval.saga.http.shared.ByteBufferPool;
+import io.primeval.saga.http.shared.Payload;
+import io.primeval.saga.router.Route;
+import io.primeval.saga.router.RouterAction;
+import io.primeval.saga.router.spi.RouterActionProvider;
+import io.primeval.saga.router.spi.RouterActionProviderKey;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ResultCacheImplTest {
+
+    private static final String ACCEPT = "application/json";
+
+    private ResultCacheImpl tested;
+    private AtomicInteger calls;
+
+    @Before
+    public void setUp() throws Exception {
+        tested = new ResultCacheImpl();
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    public void shouldReplayCachedResults() throws Exception {
+        Action action = action("items", 60_000);
+
+        assertThat(content(call(action, "/items", "hello"))).isEqualTo("hello");
+        assertThat(content(call(action, "/items", "ignored"))).isEqualTo("hello");
+        assertThat(content(call(action, "/items?page=2", "page 2"))).isEqualTo("page 2");
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(tested.hitCount()).isEqualTo(1);
+        assertThat(tested.missCount()).isEqualTo(2);
+        assertThat(tested.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldExpireEntriesAfterTheirTtl() throws Exception {
+        Action action = action("items", 1);
+
+        call(action, "/items", "first");
+        Thread.sleep(20);
+
+        assertThat(content(call(action, "/items", "second"))).isEqualTo("second");
+        assertThat(tested.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldKeepEntriesUntilInvalidated() throws Exception {
+        Action items = action("items", Action.CACHED_UNTIL_INVALIDATED);
+        Action users = action("users", Action.CACHED_UNTIL_INVALIDATED);
+        call(items, "/items", "items");
+        call(users, "/users", "users");
+        Thread.sleep(20);
+
+        assertThat(content(call(items, "/items", "ignored"))).isEqualTo("items");
+
+        tested.invalidate(items.actionKey);
+        assertThat(content(call(items, "/items", "new items"))).isEqualTo("new items");
+        assertThat(content(call(users, "/users", "ignored"))).isEqualTo("users");
+    }
+
+    @Test
+    public void shouldNotCacheLargeOrUnsuccessfulResults() throws Exception {
+        tested.configure(ResultCacheConfig.DEFAULT_MAX_SIZE, 4);
+        Action action = action("items", 60_000);
+
+        call(action, "/small", "1234");
+        call(action, "/large", "12345");
+        call(action, "/large", "12345");
+
+        assertThat(tested.size()).isEqualTo(1);
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldEvictBeyondMaxSize() throws Exception {
+        tested.configure(4096, ResultCacheConfig.DEFAULT_MAX_ENTRY_SIZE);
+        Action action = action("items", 60_000);
+        String content = new String(new char[100]).replace('\0', 'x');
+
+        for (int i = 0; i < 100; i++) {
+            call(action, "/items/" + i, content);
+        }
+
+        assertThat(tested.size()).isGreaterThan(0).isLessThan(4096 / 100 + 1);
+    }
+
+    @Test
+    public void shouldCopyPooledBuffers() throws Exception {
+        Action action = action("items", 60_000);
+        List<ByteBuffer> released = new ArrayList<>();
+        ByteBufferPool bufferPool = new ByteBufferPool() {
+            @Override
+            public ByteBuffer acquire(int minCapacity) {
+                return ByteBuffer.allocate(minCapacity);
+            }
+
+            @Override
+            public void release(ByteBuffer buffer) {
+                released.add(buffer);
+            }
+        };
+        ByteBuffer pooled = ByteBuffer.wrap("pooled".getBytes(StandardCharsets.UTF_8));
+
+        Result<?> result = call(action, "/items", Payload.ofLength(6, Mono.just(pooled), bufferPool));
+        pooled.put(0, (byte) 'X'); // reused by the pool
+
+        assertThat(released).containsExactly(pooled);
+        assertThat(content(result)).isEqualTo("pooled");
+        assertThat(content(call(action, "/items", "ignored"))).isEqualTo("pooled");
+    }
+
+    @Test
+    public void shouldInvalidateRoutesOnRemoval() throws Exception {
+        Action items = action("items", Action.CACHED_UNTIL_INVALIDATED);
+        Action users = action("users", Action.CACHED_UNTIL_INVALIDATED);
+        call(items, "/items", "items");
+        call(users, "/users", "users");
+        Route route = Route.create(HttpMethod.GET, ImmutableList.of("items"));
+        RouterActionProvider provider = provider(new RouterAction(route, items));
+
+        tested.addRouterActionProvider(provider);
+        assertThat(tested.size()).isEqualTo(2);
+
+        tested.removeRouterActionProvider(provider);
+        assertThat(tested.size()).isEqualTo(1);
+        assertThat(content(call(users, "/users", "ignored"))).isEqualTo("users");
+    }
+
+    private Action action(String name, long cacheTtlMillis) {
+        return new Action(new TestActionKey(name), context -> null, DispatchMode.DISPATCHER, cacheTtlMillis);
+    }
+
+    private Result<?> call(Action action, String uri, String content) throws Exception {
+        byte[] b = content.getBytes(StandardCharsets.UTF_8);
+        return call(action, uri, Payload.ofLength(b.length, Mono.just(ByteBuffer.wrap(b))));
+    }
+
+    private Result<?> call(Action action, String uri, Payload payload) throws Exception {
+        Promise<Result<?>> result = tested.call(action, context(uri), context -> {
+            calls.incrementAndGet();
+            return Promises.resolved(null);
+        }, ACCEPT, ignored -> Promises.resolved(new PayloadResult(Status.OK, payload, ImmutableMap.of())));
+        return result.getValue();
+    }
+
+    private static String content(Result<?> result) {
+        Payload payload = (Payload) result.content().get().value();
+        StringBuilder sb = new StringBuilder();
+        for (ByteBuffer buffer : Flux.from(payload.content).toIterable()) {
+            sb.append(StandardCharsets.UTF_8.decode(buffer));
+        }
+        return sb.toString();
+    }
+
+    private static Context context(String uri) {
+        HttpRequest request = new HttpRequest(new HttpHost("http", "localhost", 80), HttpMethod.GET, uri,
+                ImmutableList.of(), Collections.emptyMap(), Collections.emptyMap());
+        return new ContextImpl(new HttpServerEvent() {
+            @Override
+            public HttpRequest request() {
+                return request;
+            }
+
+            @Override
+            public Payload content() {
+                return Payload.EMPTY;
+            }
+
+            @Override
+            public void respond(HttpResponse response, Payload payload) {
+            }
+        }, null, null, null);
+    }
+
+    private static RouterActionProvider provider(RouterAction... routerActions) {
+        return new RouterActionProvider() {
+            @Override
+            public Collection<RouterAction> routerActions() {
+                return ImmutableList.copyOf(routerActions);
+            }
+
+            @Override
+            public RouterActionProviderKey id() {
+                return null;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,88 @@
+package io.primeval.saga.core.internal.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.osgi.util.promise.Promise;
+
+import com.google.common.collect.ImmutableList;
+
+import io.primeval.saga.action.ActionFunction;
+import io.primeval.saga.action.Context;
+import io.primeval.saga.action.Result;
+import io.primeval.saga.core.internal.server.RouteFilterChains.PrefixMatch;
+import io.primeval.saga.http.protocol.HttpMethod;
+import io.primeval.saga.router.Route;
+import io.primeval.saga.router.filter.RouteFilterProvider;
+
+public class RouteFilterChainsTest {
+
+    @Test
+    public void shouldSelectFiltersByPathPrefix() throws Exception {
+        RouteFilterChains chains = new RouteFilterChains(ImmutableList.of(new PrefixFilter("/"),
+                new PrefixFilter("/admin"), new PrefixFilter("/api/v2", "/api/v3"), new PrefixFilter()));
+
+        assertThat(selected(chains, "admin", "users")).containsExactly(0, 1);
+        assertThat(selected(chains, "api", "v3", "items")).containsExactly(0, 2);
+        assertThat(selected(chains, "api")).containsExactly(0);
+        assertThat(selected(chains)).containsExactly(0);
+        assertThat(chains.pathPrefixes(3)).isNull();
+    }
+
+    @Test
+    public void shouldResolvePrefixAgainstRoute() throws Exception {
+        List<List<String>> admin = ImmutableList.of(ImmutableList.of("admin"));
+
+        assertThat(RouteFilterChains.prefixMatch(admin, route("admin", "{id}"))).isEqualTo(PrefixMatch.ALWAYS);
+        assertThat(RouteFilterChains.prefixMatch(admin, route("items", "{id}"))).isEqualTo(PrefixMatch.NEVER);
+        assertThat(RouteFilterChains.prefixMatch(admin, route("{section}", "x")))
+                .isEqualTo(PrefixMatch.DEPENDS_ON_PATH);
+        assertThat(RouteFilterChains.prefixMatch(admin, route("[0-9]+", "x"))).isEqualTo(PrefixMatch.NEVER);
+        assertThat(RouteFilterChains.prefixMatch(admin, route())).isEqualTo(PrefixMatch.NEVER);
+        assertThat(RouteFilterChains.prefixMatch(ImmutableList.of(ImmutableList.of()), route()))
+                .isEqualTo(PrefixMatch.ALWAYS);
+
+        assertThat(RouteFilterChains.startsWithAny(Arrays.asList("admin", "x"), admin)).isTrue();
+        assertThat(RouteFilterChains.startsWithAny(Arrays.asList("other", "x"), admin)).isFalse();
+    }
+
+    private static List<Integer> selected(RouteFilterChains chains, String... path) {
+        BitSet bitSet = chains.selectByPathPrefix(Arrays.asList(path));
+        return bitSet.stream().boxed().collect(Collectors.toList());
+    }
+
+    private static Route route(String... pathPattern) {
+        return Route.create(HttpMethod.GET, Arrays.asList(pathPattern));
+    }
+
+    private static final class PrefixFilter implements RouteFilterProvider {
+
+        private final Optional<List<String>> prefixes;
+
+        PrefixFilter(String... prefixes) {
+            this.prefixes = prefixes.length == 0 ? Optional.empty() : Optional.of(Arrays.asList(prefixes));
+        }
+
+        @Override
+        public Promise<Result<?>> call(Context context, ActionFunction function, Optional<Route> boundRoute) {
+            return function.apply(context);
+        }
+
+        @Override
+        public boolean matches(String uri) {
+            return true;
+        }
+
+        @Override
+        public Optional<List<String>> pathPrefixes() {
+            return prefixes;
+        }
+    }
+
+}
@@ -13,6 +13,7 @@ import io.primeval.codex.test.rules.WithCodex;
 import io.primeval.common.test.rules.TestResource;
 import io.primeval.saga.core.internal.parameter.HttpParameterConverterImpl;
 import io.primeval.saga.core.internal.server.HttpServerImpl;
+import io.primeval.saga.core.internal.server.ResultCacheImpl;
 import io.primeval.saga.http.server.spi.HttpServerProvider;
 import io.primeval.saga.http.shared.provider.ProviderProperties;
 import io.primeval.saga.http.shared.provider.SagaProvider;
@@ -45,6 +46,7 @@ public class WithHttpServer extends ExternalResource implements TestResource {
         httpServer.setSerializer(wSerDes.getSerializer());
         httpServer.setDeserializer(wSerDes.getDeserializer());
         httpServer.setParamConverter(new HttpParameterConverterImpl());
+        httpServer.setResultCache(new ResultCacheImpl());
 
         httpServer.setDispatcher(wCodex.getDispatcher());
         httpServer.setScheduler(wCodex.getScheduler());
@@ -13,6 +13,8 @@ import com.google.common.collect.ImmutableList;
 import io.primeval.codex.io.resource.ReactiveResourceReader;
 import io.primeval.codex.publisher.UnicastPublisher;
 import io.primeval.common.type.TypeTag;
+import io.primeval.saga.action.Action;
+import io.primeval.saga.action.DispatchMode;
 import io.primeval.saga.action.Result;
 import io.primeval.saga.annotations.Body;
 import io.primeval.saga.annotations.PathParameter;
@@ -44,7 +46,8 @@ public final class HelloWorldController {
         return "Hello " + who;
     }
 
-    @Route(method = HttpMethod.GET, uri = "ingredients")
+    @Route(method = HttpMethod.GET, uri = "ingredients", dispatch = DispatchMode.INLINE,
+            cacheTtlMillis = Action.CACHED_UNTIL_INVALIDATED)
     public ImmutableList<String> ingredients() {
         return ImmutableList.of("Eggs", "Flour", "Milk");
     }
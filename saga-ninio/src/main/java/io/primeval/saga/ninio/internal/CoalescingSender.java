@@ -0,0 +1,206 @@
+package io.primeval.saga.ninio.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.davfx.ninio.core.SendCallback;
+import com.davfx.ninio.http.HttpContentSender;
+
+import io.primeval.saga.http.shared.ByteBufferPool;
+
+/**
+ * Sends a payload by batches of buffers. Buffers smaller than {@code coalesceBytes} that are emitted together while a
+ * batch is requested are copied into a single write, flushed when full and once the request returns; a small buffer
+ * emitted alone, or later from another thread, is written as is. The next batch is requested once all writes are
+ * sent. Writes are copied into buffers of the payload's pool, if any.
+ */
+final class CoalescingSender implements Subscriber<ByteBuffer> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoalescingSender.class);
+
+    private final HttpContentSender contentSender;
+    private final /* nullable */ ByteBufferPool bufferPool;
+    private final int batchSize;
+    private final int coalesceBytes;
+    private final Runnable onDone;
+
+    private Subscription sub;
+    private /* nullable */ ByteBuffer lone; // the batch's only small buffer so far, not copied
+    private /* nullable */ ByteBuffer pending;
+    private int outstanding; // requested, not received
+    private int unsent;
+    private boolean requesting;
+    private boolean terminated;
+
+    CoalescingSender(HttpContentSender contentSender, /* nullable */ ByteBufferPool bufferPool, int batchSize,
+            int coalesceBytes, Runnable onDone) {
+        this.contentSender = contentSender;
+        this.bufferPool = bufferPool;
+        this.batchSize = batchSize;
+        this.coalesceBytes = coalesceBytes;
+        this.onDone = onDone;
+    }
+
+    @Override
+    public synchronized void onSubscribe(Subscription sub) {
+        this.sub = sub;
+        requestMore();
+    }
+
+    @Override
+    public synchronized void onNext(ByteBuffer bb) {
+        outstanding--;
+        if (terminated) {
+            release(bb);
+            return;
+        }
+        if (bb.remaining() >= coalesceBytes) {
+            flush();
+            send(bb);
+        } else if (lone == null && pending == null) {
+            lone = bb;
+            if (!requesting) {
+                flush();
+            }
+        } else {
+            if (lone != null) {
+                pending = acquire();
+                pending.put(lone.duplicate());
+                release(lone);
+                lone = null;
+            }
+            if (bb.remaining() > pending.remaining()) {
+                flush();
+            }
+            if (pending == null) {
+                pending = acquire();
+            }
+            pending.put(bb.duplicate());
+            release(bb);
+            if (!pending.hasRemaining() || !requesting) {
+                flush();
+            }
+        }
+        if (!requesting) {
+            requestMore();
+        }
+    }
+
+    @Override
+    public synchronized void onComplete() {
+        if (terminated) {
+            return;
+        }
+        flush();
+        terminate();
+    }
+
+    @Override
+    public synchronized void onError(Throwable error) {
+        LOGGER.error("An error happened in the flux sending the payload", error);
+        if (terminated) {
+            return;
+        }
+        discard();
+        terminate();
+    }
+
+    // Loops over batches that leave nothing to send, such as empty buffers.
+    private void requestMore() {
+        while (unsent == 0 && outstanding == 0 && !terminated) {
+            outstanding = batchSize;
+            requesting = true;
+            try {
+                sub.request(batchSize);
+            } finally {
+                requesting = false;
+            }
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (lone != null) {
+            ByteBuffer bb = lone;
+            lone = null;
+            if (bb.hasRemaining()) {
+                send(bb);
+            } else {
+                release(bb);
+            }
+            return;
+        }
+        ByteBuffer bb = pending;
+        if (bb == null || bb.position() == 0) {
+            return;
+        }
+        pending = null;
+        bb.flip();
+        send(bb);
+    }
+
+    private void send(ByteBuffer bb) {
+        unsent++;
+        contentSender.send(bb, new SendCallback() {
+
+            @Override
+            public void failed(IOException error) {
+                LOGGER.trace("Couldn't send data; potentially client just canceled.", error);
+                synchronized (CoalescingSender.this) {
+                    if (!terminated) {
+                        terminated = true;
+                        discard();
+                        sub.cancel();
+                        onDone.run();
+                    }
+                }
+            }
+
+            @Override
+            public void sent() {
+                release(bb);
+                synchronized (CoalescingSender.this) {
+                    unsent--;
+                    requestMore();
+                }
+            }
+        });
+    }
+
+    private void discard() {
+        if (lone != null) {
+            release(lone);
+            lone = null;
+        }
+        if (pending != null) {
+            release(pending);
+            pending = null;
+        }
+    }
+
+    private ByteBuffer acquire() {
+        if (bufferPool == null) {
+            return ByteBuffer.allocate(coalesceBytes);
+        }
+        ByteBuffer bb = bufferPool.acquire(coalesceBytes);
+        bb.limit(coalesceBytes); // writes stay of at most coalesceBytes
+        return bb;
+    }
+
+    private void release(ByteBuffer bb) {
+        if (bufferPool != null) {
+            bufferPool.release(bb);
+        }
+    }
+
+    private void terminate() {
+        terminated = true;
+        contentSender.finish();
+        onDone.run();
+    }
+
+}
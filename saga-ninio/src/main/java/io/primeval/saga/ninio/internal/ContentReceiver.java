@@ -1,36 +1,172 @@
 package io.primeval.saga.ninio.internal;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 import com.davfx.ninio.http.HttpContentReceiver;
 
-import reactor.core.publisher.BlockingSink;
-import reactor.core.publisher.UnicastProcessor;
-
+/**
+ * Queues received content until its single subscriber requests it. Ninio cannot suspend reading a connection, so
+ * content queued beyond {@code maxBufferedBytes} fails instead; unbounded by default. Queued bytes are also counted in
+ * {@code totalBufferedBytes}, shared by the receivers of a server.
+ */
 public final class ContentReceiver implements HttpContentReceiver {
 
-    private final BlockingSink<ByteBuffer> sink;
-    private final UnicastProcessor<ByteBuffer> emitter;
+    public static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private final long maxBufferedBytes;
+    private final LongAdder totalBufferedBytes;
+
+    private final Queue<ByteBuffer> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final AtomicLong peakBufferedBytes = new AtomicLong();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    private volatile Subscriber<? super ByteBuffer> subscriber;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+
+    private final Publisher<ByteBuffer> publisher = this::subscribe;
 
     public ContentReceiver() {
-        emitter = UnicastProcessor.create();
-        this.sink = emitter.connectSink();
+        this(UNBOUNDED, new LongAdder());
+    }
+
+    public ContentReceiver(long maxBufferedBytes, LongAdder totalBufferedBytes) {
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.totalBufferedBytes = totalBufferedBytes;
     }
 
     @Override
     public void ended() {
-        sink.complete();
+        done = true;
+        drain();
     }
 
     @Override
     public void received(ByteBuffer bb) {
-        sink.next(bb);
+        if (done || cancelled) {
+            return;
+        }
+        long buffered = addBuffered(bb.remaining());
+        queue.offer(bb);
+        peakBufferedBytes.accumulateAndGet(buffered, Math::max);
+        if (buffered > maxBufferedBytes) {
+            error = new IOException("Content buffered beyond " + maxBufferedBytes + " bytes");
+            done = true;
+        }
+        drain();
     }
 
     public Publisher<ByteBuffer> asPublisher() {
-        return emitter;
+        return publisher;
+    }
+
+    public long bufferedBytes() {
+        return bufferedBytes.get();
+    }
+
+    public long peakBufferedBytes() {
+        return peakBufferedBytes.get();
+    }
+
+    private void subscribe(Subscriber<? super ByteBuffer> s) {
+        if (!subscribed.compareAndSet(false, true)) {
+            s.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    // nothing to emit
+                }
+
+                @Override
+                public void cancel() {
+                    // nothing to cancel
+                }
+            });
+            s.onError(new IllegalStateException("Content can only be subscribed to once"));
+            return;
+        }
+        s.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    error = new IllegalArgumentException("Non-positive request: " + n);
+                    done = true;
+                } else {
+                    requested.accumulateAndGet(n, (r, m) -> r + m < 0 ? Long.MAX_VALUE : r + m);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                drain();
+            }
+        });
+        subscriber = s;
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Subscriber<? super ByteBuffer> s = subscriber;
+            if (cancelled || error != null) {
+                clear();
+            }
+            if (s != null && !cancelled) {
+                long emitted = 0;
+                long r = requested.get();
+                ByteBuffer bb;
+                while (emitted != r && error == null && (bb = queue.poll()) != null) {
+                    addBuffered(-bb.remaining());
+                    s.onNext(bb);
+                    emitted++;
+                }
+                if (emitted != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                if (done && queue.isEmpty()) {
+                    cancelled = true; // terminal
+                    Throwable e = error;
+                    if (e != null) {
+                        s.onError(e);
+                    } else {
+                        s.onComplete();
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void clear() {
+        ByteBuffer bb;
+        while ((bb = queue.poll()) != null) {
+            addBuffered(-bb.remaining());
+        }
+    }
+
+    private long addBuffered(int bytes) {
+        totalBufferedBytes.add(bytes);
+        return bufferedBytes.addAndGet(bytes);
     }
 
 }
@@ -1,125 +1,26 @@
 package io.primeval.saga.ninio.internal;
 
-import java.io.IOException;
-import java.nio.ByteBuffer;
-
-import org.reactivestreams.Publisher;
-import org.reactivestreams.Subscriber;
-import org.reactivestreams.Subscription;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import com.davfx.ninio.core.SendCallback;
 import com.davfx.ninio.http.HttpContentSender;
 
-import io.primeval.codex.publisher.UnicastPublisher;
+import io.primeval.saga.http.shared.Payload;
 
 public final class ContentSender {
-    private static final Logger LOGGER = LoggerFactory.getLogger(ContentSender.class);
-
-    // Returns sizes sent.
-    // Publisher completes when payload is sent.
-    public static Publisher<Integer> sendPayloadAndGetAcks(HttpContentSender contentSender,
-            Publisher<ByteBuffer> payload) {
-        UnicastPublisher<Integer> publisher = new UnicastPublisher<>();
-        payload.subscribe(new Subscriber<ByteBuffer>() {
-
-            private Subscription sub;
-
-            @Override
-            public void onComplete() {
-                try {
-                    contentSender.finish();
-                    publisher.complete();
-                } catch (Throwable t) {
-                    publisher.error(t);
-                }
-            }
-
-            @Override
-            public void onError(Throwable error) {
-                LOGGER.error("An error happened in the flux sending the payload", error);
-                contentSender.finish();
-                try {
-                    publisher.error(error);
-                } catch (RuntimeException e) {
-                    // *iif* it has already finished
-                }
-            }
 
-            @Override
-            public void onNext(ByteBuffer bb) {
-                int remaining = bb.remaining();
+    public static final int DEFAULT_WRITE_BATCH_SIZE = 16;
+    public static final int DEFAULT_WRITE_COALESCE_BYTES = 16 * 1024;
 
-                contentSender.send(bb, new SendCallback() {
-
-                    @Override
-                    public void failed(IOException error) {
-                        publisher.error(error);
-                        sub.cancel();
-                        LOGGER.trace("Couldn't send data; potentially client just canceled.", error);
-
-                    }
-
-                    @Override
-                    public void sent() {
-                        publisher.next(remaining);
-                        sub.request(1);
-                    }
-                });
-            }
-
-            @Override
-            public void onSubscribe(Subscription sub) {
-                this.sub = sub;
-                sub.request(1);
-            }
+    // Buffers of pooled payloads go back to their pool once sent.
+    public static void sendPayload(HttpContentSender contentSender, Payload payload) {
+        sendPayload(contentSender, payload, DEFAULT_WRITE_BATCH_SIZE, DEFAULT_WRITE_COALESCE_BYTES, () -> {
         });
-
-        return publisher;
     }
 
-    public static void sendPayload(HttpContentSender contentSender, Publisher<ByteBuffer> payload) {
-        payload.subscribe(new Subscriber<ByteBuffer>() {
-
-            private Subscription sub;
-
-            @Override
-            public void onComplete() {
-                contentSender.finish();
-            }
-
-            @Override
-            public void onError(Throwable error) {
-                LOGGER.error("An error happened in the flux sending the payload", error);
-                contentSender.finish();
-            }
-
-            @Override
-            public void onNext(ByteBuffer bb) {
-                contentSender.send(bb, new SendCallback() {
-
-                    @Override
-                    public void failed(IOException error) {
-                        sub.cancel();
-                        LOGGER.trace("Couldn't send data; potentially client just canceled.", error);
-
-                    }
-
-                    @Override
-                    public void sent() {
-                        sub.request(1);
-                    }
-                });
-            }
-
-            @Override
-            public void onSubscribe(Subscription sub) {
-                this.sub = sub;
-                sub.request(1);
-            }
-        });
-
+    // Small buffers are copied together into writes of up to coalesceBytes; onDone runs once the payload is sent or
+    // has failed.
+    public static void sendPayload(HttpContentSender contentSender, Payload payload, int batchSize, int coalesceBytes,
+            Runnable onDone) {
+        payload.content.subscribe(new CoalescingSender(contentSender, payload.bufferPool, Math.max(1, batchSize),
+                coalesceBytes, onDone));
     }
 
 }
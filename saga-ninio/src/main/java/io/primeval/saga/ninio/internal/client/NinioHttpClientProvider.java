@@ -83,7 +83,7 @@ public final class NinioHttpClientProvider implements HttpClientProvider {
                         }
                     }).send(NinioSagaShared.fromSagaMethod(method));
 
-            ContentSender.sendPayload(contentSender, payload.content);
+            ContentSender.sendPayload(contentSender, payload);
 
             return deferred.getPromise();
 
@@ -0,0 +1,89 @@
+package io.primeval.saga.ninio.internal.server;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the requests in flight, from their arrival until their response headers are sent, either to a fixed count or
+ * adapting it to that latency (additive increase, multiplicative decrease).
+ */
+final class AdmissionControl {
+
+    static final AdmissionControl UNLIMITED = new AdmissionControl(Integer.MAX_VALUE, Integer.MAX_VALUE, 0, false);
+
+    private static final double DECREASE_FACTOR = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final boolean adaptive;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+
+    AdmissionControl(int minLimit, int maxLimit, long latencyTargetMillis, boolean adaptive) {
+        this.minLimit = Math.min(minLimit, maxLimit);
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMillis);
+        this.adaptive = adaptive;
+        this.limit = maxLimit;
+    }
+
+    static AdmissionControl create(NinioHttpServerConfig config) {
+        if (config.max_in_flight() <= NinioHttpServerConfig.UNLIMITED) {
+            return UNLIMITED;
+        }
+        return new AdmissionControl(Math.max(1, config.min_in_flight()), config.max_in_flight(),
+                config.latency_target_ms(), config.adaptive_limit());
+    }
+
+    boolean tryAcquire() {
+        int max = (int) limit;
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= max) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    void release(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        if (adaptive) {
+            adapt(latencyNanos, current);
+        }
+    }
+
+    // Releases a request that was never responded to, without sampling its latency.
+    void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void adapt(long latencyNanos, int inFlightBefore) {
+        double l = limit;
+        if (latencyNanos > latencyTargetNanos) {
+            limit = Math.max(minLimit, l * DECREASE_FACTOR);
+        } else if (inFlightBefore * 2 >= l) {
+            // Only grow when the limit is put to use.
+            limit = Math.min(maxLimit, l + 1 / l);
+        }
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    long rejectedCount() {
+        return rejected.sum();
+    }
+
+}
@@ -0,0 +1,71 @@
+package io.primeval.saga.ninio.internal.server;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.reactivestreams.Publisher;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.primeval.saga.http.server.spi.HttpServerEvent;
+import reactor.core.publisher.BlockingSink;
+import reactor.core.publisher.UnicastProcessor;
+
+/**
+ * Spreads server events round-robin over single-threaded loops, each emitting to its own stream. A single loop emits
+ * on the ninio thread.
+ */
+final class EventLoops {
+
+    private final ImmutableList<ExecutorService> executors;
+    private final ImmutableList<UnicastProcessor<HttpServerEvent>> emitters;
+    private final ImmutableList<BlockingSink<HttpServerEvent>> sinks;
+    private final AtomicInteger next = new AtomicInteger();
+
+    EventLoops(int count) {
+        ImmutableList.Builder<ExecutorService> executorsBldr = ImmutableList.builder();
+        ImmutableList.Builder<UnicastProcessor<HttpServerEvent>> emittersBldr = ImmutableList.builder();
+        ImmutableList.Builder<BlockingSink<HttpServerEvent>> sinksBldr = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            if (count > 1) {
+                executorsBldr.add(Executors.newSingleThreadExecutor(
+                        new ThreadFactoryBuilder().setNameFormat("saga-ninio-loop-" + i).setDaemon(true).build()));
+            }
+            UnicastProcessor<HttpServerEvent> emitter = UnicastProcessor.create();
+            emittersBldr.add(emitter);
+            sinksBldr.add(emitter.connectSink());
+        }
+        this.executors = executorsBldr.build();
+        this.emitters = emittersBldr.build();
+        this.sinks = sinksBldr.build();
+    }
+
+    void accept(HttpServerEvent event) {
+        if (executors.isEmpty()) {
+            sinks.get(0).accept(event);
+            return;
+        }
+        int i = Math.floorMod(next.getAndIncrement(), sinks.size());
+        BlockingSink<HttpServerEvent> sink = sinks.get(i);
+        executors.get(i).execute(() -> sink.accept(event));
+    }
+
+    void complete() {
+        if (executors.isEmpty()) {
+            sinks.get(0).complete();
+            return;
+        }
+        for (int i = 0; i < sinks.size(); i++) {
+            executors.get(i).execute(sinks.get(i)::complete);
+            executors.get(i).shutdown();
+        }
+    }
+
+    List<Publisher<HttpServerEvent>> publishers() {
+        return ImmutableList.copyOf(emitters);
+    }
+
+}
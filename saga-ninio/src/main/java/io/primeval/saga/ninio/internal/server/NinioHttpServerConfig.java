@@ -0,0 +1,64 @@
+package io.primeval.saga.ninio.internal.server;
+
+import io.primeval.saga.ninio.internal.ContentSender;
+
+public @interface NinioHttpServerConfig {
+
+    int UNLIMITED = 0;
+
+    long UNBOUNDED = -1;
+
+    /**
+     * Requests in flight beyond this are answered {@code 503 Service Unavailable} right away; {@code 0} admits all
+     * requests. With {@link #adaptive_limit()}, the upper bound of the limit.
+     */
+    int max_in_flight() default UNLIMITED;
+
+    /**
+     * Whether the in-flight limit adapts to latency: it grows by one for each limit's worth of requests answered
+     * within {@link #latency_target_ms()}, and shrinks by a tenth on a slower one.
+     */
+    boolean adaptive_limit() default false;
+
+    /**
+     * Lower bound of the adaptive in-flight limit.
+     */
+    int min_in_flight() default 8;
+
+    long latency_target_ms() default 100;
+
+    /**
+     * Requests still unanswered after this long, such as stalled or abandoned uploads, no longer count as in flight;
+     * {@code 0} keeps them until the server stops.
+     */
+    long admission_timeout_s() default 300;
+
+    /**
+     * {@code Retry-After} of rejected requests.
+     */
+    long retry_after_s() default 1;
+
+    /**
+     * Threads among which requests are spread round-robin, once parsed, each feeding its own event stream. With
+     * {@code 1}, requests are handled on the ninio thread. Only request handling moves off that thread: ninio still
+     * accepts, reads and writes every connection on its single thread, so more loops do not parallelize I/O.
+     */
+    int event_loops() default 1;
+
+    /**
+     * Response buffers requested at once; the next ones are requested when those are sent.
+     */
+    int write_batch_size() default ContentSender.DEFAULT_WRITE_BATCH_SIZE;
+
+    /**
+     * Response buffers smaller than this, emitted together, are copied into a single write.
+     */
+    int write_coalesce_bytes() default ContentSender.DEFAULT_WRITE_COALESCE_BYTES;
+
+    /**
+     * Request content received ahead of its reader is queued; beyond this many bytes, the request body fails. ninio
+     * cannot pause reading a connection, so the queue is otherwise unbounded, with {@code -1}.
+     */
+    long max_buffered_request_size() default UNBOUNDED;
+
+}
@@ -1,5 +1,11 @@
 package io.primeval.saga.ninio.internal.server;
 
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -14,17 +20,20 @@ import com.davfx.ninio.core.Listener;
 import com.davfx.ninio.core.Ninio;
 import com.davfx.ninio.core.TcpSocketServer;
 import com.davfx.ninio.http.HttpListening;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import io.primeval.saga.http.server.HttpServerMetrics;
 import io.primeval.saga.http.server.spi.HttpServerEvent;
 import io.primeval.saga.http.server.spi.HttpServerProvider;
 import io.primeval.saga.http.shared.provider.SagaProvider;
+import io.primeval.saga.ninio.internal.ContentReceiver;
+import io.primeval.saga.ninio.internal.ContentSender;
 import io.primeval.saga.ninio.internal.NinioSagaShared;
-import reactor.core.publisher.BlockingSink;
-import reactor.core.publisher.UnicastProcessor;
+import reactor.core.publisher.Flux;
 
-@Component
+@Component(configurationPid = "saga.ninio.server")
 @SagaProvider(name = NinioSagaShared.PROVIDER_NAME)
-public final class NinioHttpServerProvider implements HttpServerProvider {
+public final class NinioHttpServerProvider implements HttpServerProvider, HttpServerMetrics {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NinioHttpServerProvider.class);
 
@@ -36,13 +45,40 @@ public final class NinioHttpServerProvider implements HttpServerProvider {
 
     private Deferred<Void> closedDeferred;
 
-    private UnicastProcessor<HttpServerEvent> emitter;
-
-    private BlockingSink<HttpServerEvent> sink;
+    private EventLoops eventLoops;
 
     private int port = -1;
 
+    private AdmissionControl admissionControl = AdmissionControl.UNLIMITED;
+
+    private long retryAfterSeconds;
+
+    private long admissionTimeoutSeconds;
+
+    private /* nullable */ ScheduledExecutorService permitExpiry;
+
+    private int eventLoopCount = 1;
+
+    private int writeBatchSize = ContentSender.DEFAULT_WRITE_BATCH_SIZE;
+
+    private int writeCoalesceBytes = ContentSender.DEFAULT_WRITE_COALESCE_BYTES;
+
+    private long maxBufferedRequestSize = ContentReceiver.UNBOUNDED;
+
+    private final LongAdder bufferedRequestBytes = new LongAdder();
+
     @Activate
+    public void activate(NinioHttpServerConfig config) {
+        admissionControl = AdmissionControl.create(config);
+        retryAfterSeconds = config.retry_after_s();
+        admissionTimeoutSeconds = Math.max(0, config.admission_timeout_s());
+        eventLoopCount = Math.max(1, config.event_loops());
+        writeBatchSize = config.write_batch_size();
+        writeCoalesceBytes = config.write_coalesce_bytes();
+        maxBufferedRequestSize = config.max_buffered_request_size() < 0 ? ContentReceiver.UNBOUNDED
+                : config.max_buffered_request_size();
+    }
+
     public void activate() {
         // do nothing
     }
@@ -63,13 +99,23 @@ public final class NinioHttpServerProvider implements HttpServerProvider {
         startedDeferred = new Deferred<>();
         closedDeferred = new Deferred<>();
 
-        emitter = UnicastProcessor.create();
-        this.sink = emitter.connectSink();
+        eventLoops = new EventLoops(eventLoopCount);
+
+        Permits permits = new Permits(admissionControl, TimeUnit.SECONDS.toNanos(admissionTimeoutSeconds));
+        if (admissionTimeoutSeconds > 0) {
+            long period = Math.max(1, TimeUnit.SECONDS.toMillis(admissionTimeoutSeconds) / 4);
+            permitExpiry = Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("saga-ninio-permits").setDaemon(true).build());
+            permitExpiry.scheduleWithFixedDelay(() -> permits.expire(System.nanoTime()), period, period,
+                    TimeUnit.MILLISECONDS);
+        }
 
         ninio = Ninio.create();
         tcp = ninio.create(TcpSocketServer.builder().bind(new Address(Address.ANY, port)));
         tcp.listen(ninio.create(HttpListening.builder()
-                .with(new SagaHttpListeningHandler(sink, startedDeferred, closedDeferred))));
+                .with(new SagaHttpListeningHandler(eventLoops, startedDeferred, closedDeferred, permits,
+                        retryAfterSeconds, writeBatchSize, writeCoalesceBytes, maxBufferedRequestSize,
+                        bufferedRequestBytes))));
 
         return startedDeferred.getPromise();
 
@@ -77,7 +123,13 @@ public final class NinioHttpServerProvider implements HttpServerProvider {
 
     @Override
     public Publisher<HttpServerEvent> eventStream() {
-        return emitter;
+        List<Publisher<HttpServerEvent>> publishers = eventLoops.publishers();
+        return publishers.size() == 1 ? publishers.get(0) : Flux.merge(publishers);
+    }
+
+    @Override
+    public List<Publisher<HttpServerEvent>> eventStreams() {
+        return eventLoops.publishers();
     }
 
     @Override
@@ -85,11 +137,35 @@ public final class NinioHttpServerProvider implements HttpServerProvider {
         return startedDeferred.getPromise().map(x -> port);
     }
 
+    @Override
+    public int inFlightRequests() {
+        return admissionControl.inFlight();
+    }
+
+    @Override
+    public int inFlightLimit() {
+        return admissionControl.limit();
+    }
+
+    @Override
+    public long rejectedRequests() {
+        return admissionControl.rejectedCount();
+    }
+
+    @Override
+    public long bufferedRequestBytes() {
+        return bufferedRequestBytes.sum();
+    }
+
     @Override
     public synchronized Promise<Void> stop() {
 
         tcp.close();
         ninio.close();
+        if (permitExpiry != null) {
+            permitExpiry.shutdownNow();
+            permitExpiry = null;
+        }
 
         return closedDeferred.getPromise();
     }
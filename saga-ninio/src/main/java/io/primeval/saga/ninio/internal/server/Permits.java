@@ -0,0 +1,76 @@
+package io.primeval.saga.ninio.internal.server;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The admission permits of requests in flight. A permit is released once its response headers are sent; requests
+ * that never get a response, such as abandoned uploads, have theirs expired after {@code timeoutNanos}.
+ */
+final class Permits {
+
+    static final long NO_TIMEOUT = 0;
+
+    private final AdmissionControl admissionControl;
+    private final long timeoutNanos;
+    private final Set<Permit> permits = ConcurrentHashMap.newKeySet();
+
+    Permits(AdmissionControl admissionControl, long timeoutNanos) {
+        this.admissionControl = admissionControl;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    /* nullable */ Permit tryAcquire() {
+        if (!admissionControl.tryAcquire()) {
+            return null;
+        }
+        Permit permit = new Permit(System.nanoTime());
+        permits.add(permit);
+        return permit;
+    }
+
+    void expire(long nowNanos) {
+        if (timeoutNanos == NO_TIMEOUT) {
+            return;
+        }
+        for (Permit permit : permits) {
+            if (nowNanos - permit.startNanos >= timeoutNanos) {
+                permit.cancel();
+            }
+        }
+    }
+
+    void cancelAll() {
+        permits.forEach(Permit::cancel);
+    }
+
+    int size() {
+        return permits.size();
+    }
+
+    final class Permit {
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.remove(this);
+                admissionControl.release(System.nanoTime() - startNanos);
+            }
+        }
+
+        // Without a latency sample: the request was not answered.
+        void cancel() {
+            if (released.compareAndSet(false, true)) {
+                permits.remove(this);
+                admissionControl.cancel();
+            }
+        }
+    }
+
+}
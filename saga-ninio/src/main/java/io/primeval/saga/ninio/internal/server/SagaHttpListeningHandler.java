@@ -10,34 +10,55 @@ import com.davfx.ninio.http.HttpRequest;
 import com.davfx.ninio.http.HttpResponse;
 import com.davfx.ninio.http.HttpStatus;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.primitives.Longs;
+import io.primeval.saga.http.protocol.HeaderNames;
+import io.primeval.saga.http.protocol.Status;
 import io.primeval.saga.http.server.spi.HttpServerEvent;
 import io.primeval.saga.http.shared.Payload;
 import io.primeval.saga.ninio.internal.ContentReceiver;
 import io.primeval.saga.ninio.internal.ContentSender;
 import io.primeval.saga.ninio.internal.NinioSagaShared;
+import io.primeval.saga.ninio.internal.server.Permits.Permit;
 import org.osgi.util.promise.Deferred;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import reactor.core.publisher.BlockingSink;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
 
 public final class SagaHttpListeningHandler implements HttpListeningHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(SagaHttpListeningHandler.class);
 
-    private final BlockingSink<HttpServerEvent> eventSink;
+    private final EventLoops eventLoops;
 
     private final Deferred<Void> startedDeferred;
     private final Deferred<Void> closedDeferred;
 
-    public SagaHttpListeningHandler(BlockingSink<HttpServerEvent> sink, Deferred<Void> startedDeferred,
-                                    Deferred<Void> closedDeferred) {
-        this.eventSink = sink;
+    private final Permits permits;
+    private final ImmutableListMultimap<String, String> rejectionHeaders;
+
+    private final int writeBatchSize;
+    private final int writeCoalesceBytes;
+    private final long maxBufferedRequestSize;
+    private final LongAdder bufferedRequestBytes;
+
+    SagaHttpListeningHandler(EventLoops eventLoops, Deferred<Void> startedDeferred,
+                             Deferred<Void> closedDeferred, Permits permits,
+                             long retryAfterSeconds, int writeBatchSize, int writeCoalesceBytes,
+                             long maxBufferedRequestSize, LongAdder bufferedRequestBytes) {
+        this.eventLoops = eventLoops;
         this.startedDeferred = startedDeferred;
         this.closedDeferred = closedDeferred;
+        this.permits = permits;
+        this.rejectionHeaders = ImmutableListMultimap.of(HeaderNames.RETRY_AFTER, Long.toString(retryAfterSeconds),
+                HeaderNames.CONTENT_LENGTH, "0");
+        this.writeBatchSize = writeBatchSize;
+        this.writeCoalesceBytes = writeCoalesceBytes;
+        this.maxBufferedRequestSize = maxBufferedRequestSize;
+        this.bufferedRequestBytes = bufferedRequestBytes;
     }
 
     @Override
@@ -54,7 +75,8 @@ public final class SagaHttpListeningHandler implements HttpListeningHandler {
 
     @Override
     public void closed() {
-        this.eventSink.complete();
+        permits.cancelAll();
+        eventLoops.complete();
         closedDeferred.resolve(null);
     }
 
@@ -65,11 +87,19 @@ public final class SagaHttpListeningHandler implements HttpListeningHandler {
 
     @Override
     public HttpContentReceiver handle(HttpRequest request, HttpResponseSender responseSender) {
-        ContentReceiver contentReceiver = new ContentReceiver();
+        Permit permit = permits.tryAcquire();
+        if (permit == null) {
+            responseSender.send(new HttpResponse(Status.SERVICE_UNAVAILABLE, "Service Unavailable", rejectionHeaders))
+                    .finish();
+            return IgnoreContentHttpContentReceiver.INSTANCE;
+        }
+
+        ContentReceiver contentReceiver = new ContentReceiver(maxBufferedRequestSize, bufferedRequestBytes);
         Publisher<ByteBuffer> inFlux = contentReceiver.asPublisher();
 
         Payload payload = makePayload(request, responseSender, inFlux);
         if (payload == null) {
+            permit.release();
             responseSender.send(new HttpResponse(HttpStatus.BAD_REQUEST, HttpMessage.BAD_REQUEST)).finish();
             return IgnoreContentHttpContentReceiver.INSTANCE;
         }
@@ -81,8 +111,11 @@ public final class SagaHttpListeningHandler implements HttpListeningHandler {
             public void respond(io.primeval.saga.http.protocol.HttpResponse response, Payload payload) {
                 HttpResponse ninioResponse = NinioSagaShared.fromSagaResponse(response, payload);
                 HttpContentSender contentSender = responseSender.send(ninioResponse);
+                // Streamed payloads may take any time, so latency is up to the headers.
+                permit.release();
 
-                ContentSender.sendPayload(contentSender, payload.content);
+                ContentSender.sendPayload(contentSender, payload, writeBatchSize, writeCoalesceBytes, () -> {
+                });
             }
 
             @Override
@@ -95,7 +128,7 @@ public final class SagaHttpListeningHandler implements HttpListeningHandler {
                 return sagaRequest;
             }
         };
-        eventSink.accept(incomingHttpRequest);
+        eventLoops.accept(incomingHttpRequest);
 
         return contentReceiver;
     }
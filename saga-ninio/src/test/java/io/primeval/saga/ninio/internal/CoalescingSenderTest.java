@@ -0,0 +1,186 @@
+package io.primeval.saga.ninio.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.davfx.ninio.core.SendCallback;
+import com.davfx.ninio.http.HttpContentSender;
+
+import io.primeval.saga.http.shared.ByteBufferPool;
+
+public class CoalescingSenderTest {
+
+    @Test
+    public void shouldCoalesceSmallBuffersEmittedTogether() throws Exception {
+        RecordingContentSender contentSender = new RecordingContentSender();
+        int[] done = new int[1];
+        CoalescingSender tested = new CoalescingSender(contentSender, null, 16, 1024, () -> done[0]++);
+
+        new SyncPublisher(10_000, 10).subscribe(tested);
+        contentSender.acknowledgeAll();
+
+        assertThat(contentSender.bytes()).isEqualTo(100_000L);
+        assertThat(contentSender.writes.size()).isLessThanOrEqualTo(10_000 / 16 + 1);
+        assertThat(contentSender.finished).isTrue();
+        assertThat(done[0]).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldWriteLargeAndLateBuffersRightAway() throws Exception {
+        RecordingContentSender contentSender = new RecordingContentSender();
+        CoalescingSender tested = new CoalescingSender(contentSender, null, 16, 1024, () -> {
+        });
+        tested.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                // emits later
+            }
+
+            @Override
+            public void cancel() {
+                // nothing to cancel
+            }
+        });
+
+        tested.onNext(ByteBuffer.allocate(10));
+        tested.onNext(ByteBuffer.allocate(4096));
+
+        assertThat(contentSender.writes.size()).isEqualTo(2);
+        assertThat(contentSender.bytes()).isEqualTo(4106L);
+    }
+
+    @Test
+    public void shouldWriteLoneSmallBufferWithoutCopyingIt() throws Exception {
+        RecordingContentSender contentSender = new RecordingContentSender();
+        RecordingPool pool = new RecordingPool();
+        CoalescingSender tested = new CoalescingSender(contentSender, pool, 16, 1024, () -> {
+        });
+        ByteBuffer lone = ByteBuffer.allocate(10);
+
+        new SyncPublisher(lone).subscribe(tested);
+
+        assertThat(contentSender.writes).hasSize(1);
+        assertThat(contentSender.writes.get(0)).isSameAs(lone);
+        assertThat(pool.released).isEmpty();
+        contentSender.acknowledgeAll();
+        assertThat(pool.released).containsExactly(lone);
+    }
+
+    @Test
+    public void shouldCoalesceOnceASecondSmallBufferArrives() throws Exception {
+        RecordingContentSender contentSender = new RecordingContentSender();
+        RecordingPool pool = new RecordingPool();
+        CoalescingSender tested = new CoalescingSender(contentSender, pool, 16, 1024, () -> {
+        });
+        ByteBuffer first = ByteBuffer.allocate(10);
+        ByteBuffer second = ByteBuffer.allocate(20);
+
+        new SyncPublisher(first, second).subscribe(tested);
+
+        assertThat(contentSender.writes).hasSize(1);
+        assertThat(contentSender.bytes()).isEqualTo(30L);
+        assertThat(pool.released).containsExactly(first, second);
+        assertThat(pool.acquired).containsExactly(contentSender.writes.get(0));
+        contentSender.acknowledgeAll();
+        assertThat(pool.released).containsExactly(first, second, contentSender.writes.get(0));
+    }
+
+    private static final class SyncPublisher {
+        private final int count;
+        private final int size;
+        private final ByteBuffer[] buffers;
+        private int emitted;
+
+        SyncPublisher(int count, int size) {
+            this.count = count;
+            this.size = size;
+            this.buffers = null;
+        }
+
+        SyncPublisher(ByteBuffer... buffers) {
+            this.count = buffers.length;
+            this.size = 0;
+            this.buffers = buffers;
+        }
+
+        void subscribe(Subscriber<ByteBuffer> s) {
+            s.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    for (long i = 0; i < n && emitted < count; i++) {
+                        ByteBuffer bb = buffers != null ? buffers[emitted] : ByteBuffer.allocate(size);
+                        emitted++;
+                        s.onNext(bb);
+                    }
+                    if (emitted == count) {
+                        emitted++;
+                        s.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    // nothing to cancel
+                }
+            });
+        }
+    }
+
+    private static final class RecordingPool implements ByteBufferPool {
+        private final List<ByteBuffer> acquired = new ArrayList<>();
+        private final List<ByteBuffer> released = new ArrayList<>();
+
+        @Override
+        public ByteBuffer acquire(int minCapacity) {
+            ByteBuffer bb = ByteBuffer.allocate(2 * minCapacity);
+            acquired.add(bb);
+            return bb;
+        }
+
+        @Override
+        public void release(ByteBuffer buffer) {
+            released.add(buffer);
+        }
+    }
+
+    private static final class RecordingContentSender implements HttpContentSender {
+        private final List<ByteBuffer> writes = new ArrayList<>();
+        private final List<SendCallback> callbacks = new ArrayList<>();
+        private boolean finished;
+
+        @Override
+        public HttpContentSender send(ByteBuffer buffer, SendCallback callback) {
+            writes.add(buffer);
+            callbacks.add(callback);
+            return this;
+        }
+
+        @Override
+        public void finish() {
+            finished = true;
+        }
+
+        @Override
+        public void cancel() {
+            // not canceled in these tests
+        }
+
+        void acknowledgeAll() {
+            for (int i = 0; i < callbacks.size(); i++) {
+                callbacks.get(i).sent();
+            }
+        }
+
+        long bytes() {
+            return writes.stream().mapToLong(ByteBuffer::remaining).sum();
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package io.primeval.saga.ninio.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class ContentReceiverTest {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @Test
+    public void shouldCountBufferedBytesInSharedTotal() throws Exception {
+        LongAdder total = new LongAdder();
+        ContentReceiver first = new ContentReceiver(ContentReceiver.UNBOUNDED, total);
+        ContentReceiver second = new ContentReceiver(ContentReceiver.UNBOUNDED, total);
+        SlowSubscriber consumer = new SlowSubscriber();
+        first.asPublisher().subscribe(consumer);
+
+        first.received(ByteBuffer.allocate(CHUNK_SIZE));
+        first.received(ByteBuffer.allocate(CHUNK_SIZE));
+        second.received(ByteBuffer.allocate(CHUNK_SIZE));
+        assertThat(first.bufferedBytes()).isEqualTo(2L * CHUNK_SIZE);
+        assertThat(total.sum()).isEqualTo(3L * CHUNK_SIZE);
+
+        consumer.requestOne();
+        assertThat(first.bufferedBytes()).isEqualTo(CHUNK_SIZE);
+        assertThat(total.sum()).isEqualTo(2L * CHUNK_SIZE);
+
+        consumer.subscription.cancel();
+        assertThat(first.bufferedBytes()).isEqualTo(0L);
+        assertThat(total.sum()).isEqualTo(CHUNK_SIZE);
+    }
+
+    @Test
+    public void shouldFailContentBufferedBeyondMaximum() throws Exception {
+        ContentReceiver tested = new ContentReceiver(2 * CHUNK_SIZE, new LongAdder());
+        SlowSubscriber consumer = new SlowSubscriber();
+        tested.asPublisher().subscribe(consumer);
+
+        for (int i = 0; i < 4; i++) {
+            tested.received(ByteBuffer.allocate(CHUNK_SIZE));
+        }
+
+        assertThat(consumer.error.get()).isInstanceOf(IOException.class);
+        assertThat(tested.bufferedBytes()).isEqualTo(0L);
+    }
+
+    @Test
+    public void shouldQueueUnboundedContentByDefault() throws Exception {
+        ContentReceiver tested = new ContentReceiver();
+        SlowSubscriber consumer = new SlowSubscriber();
+        tested.asPublisher().subscribe(consumer);
+
+        ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+        long uploadSize = 32L * 1024 * 1024;
+        for (long sent = 0; sent < uploadSize; sent += CHUNK_SIZE) {
+            tested.received(chunk.duplicate());
+        }
+        tested.ended();
+        while (!consumer.completed) {
+            consumer.requestOne();
+        }
+
+        assertThat(consumer.error.get()).isNull();
+        assertThat(consumer.receivedBytes.get()).isEqualTo(uploadSize);
+        assertThat(tested.peakBufferedBytes()).isEqualTo(uploadSize);
+    }
+
+    private static final class SlowSubscriber implements Subscriber<ByteBuffer> {
+        private final AtomicLong receivedBytes = new AtomicLong();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private Subscription subscription;
+        private volatile boolean completed;
+
+        void requestOne() {
+            subscription.request(1);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(ByteBuffer bb) {
+            receivedBytes.addAndGet(bb.remaining());
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error.set(t);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+}
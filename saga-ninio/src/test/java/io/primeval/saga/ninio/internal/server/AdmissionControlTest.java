@@ -0,0 +1,66 @@
+package io.primeval.saga.ninio.internal.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class AdmissionControlTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void shouldRejectRequestsBeyondStaticLimit() throws Exception {
+        AdmissionControl tested = new AdmissionControl(2, 2, 100, false);
+
+        assertThat(tested.tryAcquire()).isTrue();
+        assertThat(tested.tryAcquire()).isTrue();
+        assertThat(tested.tryAcquire()).isFalse();
+        assertThat(tested.inFlight()).isEqualTo(2);
+        assertThat(tested.rejectedCount()).isEqualTo(1L);
+
+        tested.release(SLOW);
+
+        assertThat(tested.tryAcquire()).isTrue();
+        assertThat(tested.limit()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldShrinkAdaptiveLimitOnSlowResponsesAndGrowItBack() throws Exception {
+        AdmissionControl tested = new AdmissionControl(4, 20, 100, true);
+
+        for (int i = 0; i < 50; i++) {
+            tested.tryAcquire();
+            tested.release(SLOW);
+        }
+        assertThat(tested.limit()).isEqualTo(4);
+
+        for (int i = 0; i < 200; i++) {
+            acquireAll(tested);
+            tested.release(FAST);
+        }
+        assertThat(tested.limit()).isGreaterThan(4);
+    }
+
+    @Test
+    public void shouldNotAdaptToCancelledRequests() throws Exception {
+        AdmissionControl tested = new AdmissionControl(4, 20, 100, true);
+        acquireAll(tested);
+
+        for (int i = 0; i < 20; i++) {
+            tested.cancel();
+        }
+
+        assertThat(tested.inFlight()).isEqualTo(0);
+        assertThat(tested.limit()).isEqualTo(20);
+    }
+
+    private static void acquireAll(AdmissionControl tested) {
+        while (tested.tryAcquire()) {
+            // fill up to the limit
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package io.primeval.saga.ninio.internal.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+
+import io.primeval.saga.http.protocol.HttpRequest;
+import io.primeval.saga.http.protocol.HttpResponse;
+import io.primeval.saga.http.server.spi.HttpServerEvent;
+import io.primeval.saga.http.shared.Payload;
+import reactor.core.publisher.Flux;
+
+public class EventLoopsTest {
+
+    @Test
+    public void shouldSpreadEventsRoundRobin() throws Exception {
+        EventLoops tested = new EventLoops(3);
+        List<Publisher<HttpServerEvent>> publishers = tested.publishers();
+        assertThat(publishers).hasSize(3);
+
+        List<Recorder> recorders = new CopyOnWriteArrayList<>();
+        for (Publisher<HttpServerEvent> publisher : publishers) {
+            Recorder recorder = new Recorder();
+            Flux.from(publisher).subscribe(recorder::onNext, e -> {
+            }, recorder.completed::countDown);
+            recorders.add(recorder);
+        }
+
+        List<HttpServerEvent> events = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            HttpServerEvent event = new TestEvent();
+            events.add(event);
+            tested.accept(event);
+        }
+        tested.complete();
+
+        for (int i = 0; i < 3; i++) {
+            Recorder recorder = recorders.get(i);
+            assertThat(recorder.completed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(recorder.events).containsExactly(events.get(i), events.get(i + 3));
+            assertThat(recorder.threads).containsOnly("saga-ninio-loop-" + i);
+        }
+    }
+
+    @Test
+    public void shouldCompleteEveryStreamOnClose() throws Exception {
+        EventLoops tested = new EventLoops(4);
+        CountDownLatch completed = new CountDownLatch(4);
+        for (Publisher<HttpServerEvent> publisher : tested.publishers()) {
+            Flux.from(publisher).subscribe(event -> {
+            }, e -> {
+            }, completed::countDown);
+        }
+
+        tested.complete();
+
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void shouldEmitOnTheCallingThreadWithASingleLoop() throws Exception {
+        EventLoops tested = new EventLoops(1);
+        Recorder recorder = new Recorder();
+        Flux.from(tested.publishers().get(0)).subscribe(recorder::onNext, e -> {
+        }, recorder.completed::countDown);
+
+        HttpServerEvent event = new TestEvent();
+        tested.accept(event);
+        tested.complete();
+
+        assertThat(recorder.completed.getCount()).isEqualTo(0L);
+        assertThat(recorder.events).containsExactly(event);
+        assertThat(recorder.threads).containsOnly(Thread.currentThread().getName());
+    }
+
+    private static final class Recorder {
+        private final List<HttpServerEvent> events = new CopyOnWriteArrayList<>();
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        void onNext(HttpServerEvent event) {
+            events.add(event);
+            threads.add(Thread.currentThread().getName());
+        }
+    }
+
+    private static final class TestEvent implements HttpServerEvent {
+
+        @Override
+        public HttpRequest request() {
+            return null;
+        }
+
+        @Override
+        public Payload content() {
+            return Payload.EMPTY;
+        }
+
+        @Override
+        public void respond(HttpResponse response, Payload payload) {
+            // nothing to send
+        }
+    }
+
+}
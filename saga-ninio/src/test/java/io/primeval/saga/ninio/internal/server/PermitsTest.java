@@ -0,0 +1,50 @@
+package io.primeval.saga.ninio.internal.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.primeval.saga.ninio.internal.server.Permits.Permit;
+
+public class PermitsTest {
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    public void shouldExpireUnansweredRequests() throws Exception {
+        AdmissionControl admissionControl = new AdmissionControl(2, 2, 100, true);
+        Permits tested = new Permits(admissionControl, TIMEOUT);
+        Permit stalled = tested.tryAcquire();
+        Permit answered = tested.tryAcquire();
+        assertThat(tested.tryAcquire()).isNull();
+
+        answered.release();
+        tested.expire(System.nanoTime());
+        assertThat(admissionControl.inFlight()).isEqualTo(1);
+
+        tested.expire(System.nanoTime() + TIMEOUT);
+        assertThat(admissionControl.inFlight()).isEqualTo(0);
+        assertThat(tested.size()).isEqualTo(0);
+        assertThat(admissionControl.limit()).isEqualTo(2);
+
+        stalled.release(); // answered after all
+        assertThat(admissionControl.inFlight()).isEqualTo(0);
+        assertThat(tested.tryAcquire()).isNotNull();
+    }
+
+    @Test
+    public void shouldKeepPermitsWithoutTimeout() throws Exception {
+        AdmissionControl admissionControl = new AdmissionControl(1, 1, 100, false);
+        Permits tested = new Permits(admissionControl, Permits.NO_TIMEOUT);
+        tested.tryAcquire();
+
+        tested.expire(Long.MAX_VALUE);
+        assertThat(admissionControl.inFlight()).isEqualTo(1);
+
+        tested.cancelAll();
+        assertThat(admissionControl.inFlight()).isEqualTo(0);
+    }
+
+}